@@ -0,0 +1,6 @@
+plugins {
+    `java-library`
+    id("io.margeta.jvmlabs.build.java-conventions")
+}
+
+description = "Semantic version binary version info reader"
@@ -0,0 +1,28 @@
+package io.margeta.jvmlabs.build.version.reader;
+
+public final class VersionInfoBinaryFormat {
+    public static final int MAGIC = 0x4A4C5649;
+    public static final byte FORMAT_VERSION = 1;
+    public static final int HEADER_LENGTH = Integer.BYTES + Byte.BYTES;
+    public static final int FIELD_HEADER_LENGTH = Byte.BYTES + Short.BYTES;
+    public static final int MAX_FIELD_LENGTH = 0xFFFF;
+    public static final String ENTRY_SEPARATOR = "\0";
+
+    public static final byte VERSION = 1;
+    public static final byte BRANCH = 2;
+    public static final byte COMMIT_ID = 3;
+    public static final byte COMMIT_ID_ABBREV = 4;
+    public static final byte COMMIT_MESSAGE = 5;
+    public static final byte COMMIT_TIME = 6;
+    public static final byte COMMIT_USER_NAME = 7;
+    public static final byte COMMIT_USER_EMAIL = 8;
+    public static final byte BUILD_NUMBER = 9;
+    public static final byte DIRTY = 10;
+    public static final byte HOST = 11;
+    public static final byte SUBMODULES = 12;
+    public static final byte WORKTREES = 13;
+
+    static final int FIELD_COUNT = 13;
+
+    private VersionInfoBinaryFormat() {}
+}
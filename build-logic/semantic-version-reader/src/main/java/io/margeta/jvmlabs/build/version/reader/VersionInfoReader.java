@@ -0,0 +1,256 @@
+package io.margeta.jvmlabs.build.version.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.BRANCH;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.BUILD_NUMBER;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.COMMIT_ID;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.COMMIT_ID_ABBREV;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.COMMIT_MESSAGE;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.COMMIT_TIME;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.COMMIT_USER_EMAIL;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.COMMIT_USER_NAME;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.DIRTY;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.ENTRY_SEPARATOR;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.FIELD_COUNT;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.FORMAT_VERSION;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.HOST;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.MAGIC;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.SUBMODULES;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.VERSION;
+import static io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat.WORKTREES;
+
+public final class VersionInfoReader {
+    private static final int ABSENT = -1;
+
+    private final ByteBuffer buffer;
+    private final int[] offsets = new int[FIELD_COUNT + 1];
+    private final int[] lengths = new int[FIELD_COUNT + 1];
+    private final Object[] values = new Object[FIELD_COUNT + 1];
+
+    private VersionInfoReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        Arrays.fill(offsets, ABSENT);
+        index();
+    }
+
+    public static VersionInfoReader read(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+        return new VersionInfoReader(buffer.slice().order(ByteOrder.BIG_ENDIAN));
+    }
+
+    public static VersionInfoReader read(byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    public static VersionInfoReader read(InputStream input) throws IOException {
+        Objects.requireNonNull(input, "input");
+        return read(input.readAllBytes());
+    }
+
+    private void index() {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a binary version info.");
+            }
+            final var formatVersion = buffer.get();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalArgumentException(
+                        "Unsupported binary version info format %d.".formatted(formatVersion));
+            }
+            while (buffer.hasRemaining()) {
+                final var field = buffer.get();
+                final var length = Short.toUnsignedInt(buffer.getShort());
+                if (length > buffer.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                if (field > 0 && field <= FIELD_COUNT) {
+                    checkLength(field, length);
+                    offsets[field] = buffer.position();
+                    lengths[field] = length;
+                }
+                buffer.position(buffer.position() + length);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary version info.", e);
+        }
+        if (offsets[VERSION] == ABSENT) {
+            throw new IllegalArgumentException("Missing version in binary version info.");
+        }
+    }
+
+    private static void checkLength(byte field, int length) {
+        final var expectedLength = switch (field) {
+            case COMMIT_TIME, BUILD_NUMBER -> Long.BYTES;
+            case DIRTY -> Byte.BYTES;
+            default -> length;
+        };
+        if (length != expectedLength) {
+            throw new IllegalArgumentException("Invalid length %d of binary version info field %d."
+                    .formatted(length, field));
+        }
+    }
+
+    public String getVersion() {
+        return getString(VERSION);
+    }
+
+    public String getBranch() {
+        return getString(BRANCH);
+    }
+
+    public boolean hasBranch() {
+        return has(BRANCH);
+    }
+
+    public String getCommitId() {
+        return getString(COMMIT_ID);
+    }
+
+    public boolean hasCommitId() {
+        return has(COMMIT_ID);
+    }
+
+    public String getCommitIdAbbrev() {
+        return getString(COMMIT_ID_ABBREV);
+    }
+
+    public boolean hasCommitIdAbbrev() {
+        return has(COMMIT_ID_ABBREV);
+    }
+
+    public String getCommitMessage() {
+        return getString(COMMIT_MESSAGE);
+    }
+
+    public boolean hasCommitMessage() {
+        return has(COMMIT_MESSAGE);
+    }
+
+    public OffsetDateTime getCommitTime() {
+        if (!has(COMMIT_TIME)) {
+            return null;
+        }
+        if (values[COMMIT_TIME] == null) {
+            values[COMMIT_TIME] =
+                    Instant.ofEpochSecond(buffer.getLong(offsets[COMMIT_TIME])).atOffset(ZoneOffset.UTC);
+        }
+        return (OffsetDateTime) values[COMMIT_TIME];
+    }
+
+    public boolean hasCommitTime() {
+        return has(COMMIT_TIME);
+    }
+
+    public String getCommitUserName() {
+        return getString(COMMIT_USER_NAME);
+    }
+
+    public boolean hasCommitUserName() {
+        return has(COMMIT_USER_NAME);
+    }
+
+    public String getCommitUserEmail() {
+        return getString(COMMIT_USER_EMAIL);
+    }
+
+    public boolean hasCommitUserEmail() {
+        return has(COMMIT_USER_EMAIL);
+    }
+
+    public Long getBuildNumber() {
+        return has(BUILD_NUMBER) ? buffer.getLong(offsets[BUILD_NUMBER]) : null;
+    }
+
+    public boolean hasBuildNumber() {
+        return has(BUILD_NUMBER);
+    }
+
+    public Boolean getDirty() {
+        return has(DIRTY) ? buffer.get(offsets[DIRTY]) != 0 : null;
+    }
+
+    public boolean hasDirty() {
+        return has(DIRTY);
+    }
+
+    public String getHost() {
+        return getString(HOST);
+    }
+
+    public boolean hasHost() {
+        return has(HOST);
+    }
+
+    public Map<String, String> getSubmodules() {
+        return getEntries(SUBMODULES);
+    }
+
+    public boolean hasSubmodules() {
+        return has(SUBMODULES);
+    }
+
+    public Map<String, String> getWorktrees() {
+        return getEntries(WORKTREES);
+    }
+
+    public boolean hasWorktrees() {
+        return has(WORKTREES);
+    }
+
+    private boolean has(byte field) {
+        return offsets[field] != ABSENT;
+    }
+
+    private String getString(byte field) {
+        if (!has(field)) {
+            return null;
+        }
+        if (values[field] == null) {
+            values[field] = decode(offsets[field], lengths[field]);
+        }
+        return (String) values[field];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getEntries(byte field) {
+        if (!has(field)) {
+            return Map.of();
+        }
+        if (values[field] == null) {
+            final var entries = decode(offsets[field], lengths[field]).split(ENTRY_SEPARATOR, -1);
+            if (entries.length % 2 != 0) {
+                throw new IllegalArgumentException("Invalid entries of binary version info field %d.".formatted(field));
+            }
+            final var map = new LinkedHashMap<String, String>(entries.length);
+            for (var i = 0; i < entries.length; i += 2) {
+                map.put(entries[i], entries[i + 1]);
+            }
+            values[field] = Collections.unmodifiableMap(map);
+        }
+        return (Map<String, String>) values[field];
+    }
+
+    private String decode(int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        final var bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,104 @@
+package io.margeta.jvmlabs.build.version.reader
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.time.OffsetDateTime
+import java.time.ZoneOffset
+
+@Subject(VersionInfoReader)
+@Title("version info reader")
+class VersionInfoReaderTest extends Specification {
+    def "reads the fields of a binary version info"() {
+        given: "a binary version info"
+        def buffer = header()
+        putString(buffer, VersionInfoBinaryFormat.VERSION, "1.0.0+7.cb0a255")
+        putString(buffer, VersionInfoBinaryFormat.BRANCH, "main")
+        buffer.put(VersionInfoBinaryFormat.COMMIT_TIME).putShort(Long.BYTES as short).putLong(1_683_066_095L)
+        buffer.put(VersionInfoBinaryFormat.BUILD_NUMBER).putShort(Long.BYTES as short).putLong(7L)
+        buffer.put(VersionInfoBinaryFormat.DIRTY).putShort(Byte.BYTES as short).put(0 as byte)
+
+        when: "reading the binary version info"
+        def actual = VersionInfoReader.read(buffer.flip())
+
+        then: "reads the present fields"
+        with(actual) {
+            version == "1.0.0+7.cb0a255"
+            branch == "main"
+            commitTime == OffsetDateTime.of(2023, 5, 2, 22, 21, 35, 0, ZoneOffset.UTC)
+            buildNumber == 7L
+            hasDirty()
+            !dirty
+        }
+
+        and: "answers the absent fields with null"
+        with(actual) {
+            !hasCommitId()
+            commitId == null
+            !hasHost()
+            host == null
+        }
+    }
+
+    def "reads the submodules and worktrees of a binary version info"() {
+        given: "a binary version info with submodules"
+        def buffer = header()
+        putString(buffer, VersionInfoBinaryFormat.VERSION, "1.0.0")
+        putString(buffer, VersionInfoBinaryFormat.SUBMODULES, "libs/a\u00001.2.0-0-g1234567\u0000libs/b\u0000abcdef0-dirty")
+
+        when: "reading the binary version info"
+        def actual = VersionInfoReader.read(buffer.flip())
+
+        then: "reads the submodule entries"
+        actual.hasSubmodules()
+        actual.submodules == ["libs/a": "1.2.0-0-g1234567", "libs/b": "abcdef0-dirty"]
+
+        and: "answers the absent worktrees with no entries"
+        !actual.hasWorktrees()
+        actual.worktrees.isEmpty()
+    }
+
+    def "skips the unknown fields of a binary version info"() {
+        given: "a binary version info with an unknown field"
+        def buffer = header()
+        putString(buffer, 42 as byte, "unknown")
+        putString(buffer, VersionInfoBinaryFormat.VERSION, "1.0.0")
+
+        when: "reading the binary version info"
+        def actual = VersionInfoReader.read(buffer.flip())
+
+        then: "reads the known fields"
+        actual.version == "1.0.0"
+    }
+
+    def "rejects an invalid binary version info"() {
+        when: "reading an invalid binary version info"
+        VersionInfoReader.read(bytes as byte[])
+
+        then: "throws an exception"
+        thrown(IllegalArgumentException)
+
+        where:
+        bytes << [
+            [],
+            [0x4A, 0x4C, 0x56, 0x49],
+            [0x4A, 0x4C, 0x56, 0x49, 0x02],
+            [0x00, 0x00, 0x00, 0x00, 0x01],
+            [0x4A, 0x4C, 0x56, 0x49, 0x01],
+            [0x4A, 0x4C, 0x56, 0x49, 0x01, 0x01, 0x00, 0x05, 0x31],
+            [0x4A, 0x4C, 0x56, 0x49, 0x01, 0x0A, 0x00, 0x02, 0x00, 0x01],
+        ]
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer.allocate(256).putInt(VersionInfoBinaryFormat.MAGIC).put(VersionInfoBinaryFormat.FORMAT_VERSION)
+    }
+
+    private static void putString(ByteBuffer buffer, byte field, String value) {
+        def bytes = value.getBytes(StandardCharsets.UTF_8)
+        buffer.put(field).putShort(bytes.length as short).put(bytes)
+    }
+}
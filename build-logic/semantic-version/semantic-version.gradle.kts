@@ -9,7 +9,20 @@ repositories {
     gradlePluginPortal()
 }
 
+val jmh by sourceSets.creating {
+    java {
+        setSrcDirs(listOf("src/jmh/java"))
+    }
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations.named(jmh.implementationConfigurationName) {
+    extendsFrom(configurations.implementation.get())
+}
+
 dependencies {
+    implementation(project(":semantic-version-reader"))
     implementation(libs.jgit)
     implementation(libs.bundles.nightconfig)
     testFixturesApi(testLibs.bundles.spock)
@@ -17,6 +30,38 @@ dependencies {
     integrationTestImplementation(libs.jgit)
     functionalTestImplementation(libs.jgit)
     functionalTestImplementation(libs.bundles.nightconfig)
+    "jmhImplementation"(gradleApi())
+    "jmhImplementation"(testLibs.jmh.core)
+    "jmhAnnotationProcessor"(testLibs.jmh.generator)
+}
+
+tasks.named<Test>("functionalTest") {
+    val benchmark = providers.gradleProperty("semanticVersion.benchmark")
+    systemProperty("semanticVersion.benchmark", benchmark.getOrElse(""))
+    systemProperty(
+        "semanticVersion.benchmark.tolerance",
+        providers.gradleProperty("semanticVersion.benchmark.tolerance").getOrElse("")
+    )
+    val benchmarkResults = layout.buildDirectory.file("reports/semantic-version-benchmark/results.properties")
+    jvmArgumentProviders.add(CommandLineArgumentProvider {
+        listOf("-DsemanticVersion.benchmark.results=" + benchmarkResults.get().asFile.absolutePath)
+    })
+    outputs.upToDateWhen { !benchmark.isPresent }
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks."
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    classpath = jmh.runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    val includes = providers.gradleProperty("jmh.includes")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf("-rf", "json", "-rff", results.get().asFile.absolutePath) +
+            includes.map { listOf(it) }.getOrElse(listOf())
+    })
+    outputs.file(results)
+    outputs.upToDateWhen { false }
 }
 
 gradlePlugin {
@@ -26,5 +71,9 @@ gradlePlugin {
             id = "io.margeta.jvmlabs.build.semantic-version"
             implementationClass = "io.margeta.jvmlabs.build.version.SemanticVersionPlugin"
         }
+        create("settingsPlugin") {
+            id = "io.margeta.jvmlabs.build.semantic-version.settings"
+            implementationClass = "io.margeta.jvmlabs.build.version.SemanticVersionSettingsPlugin"
+        }
     }
 }
@@ -0,0 +1,183 @@
+package io.margeta.jvmlabs.build.version
+
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.GradleRunner
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Subject
+import spock.lang.Title
+
+@Subject(SemanticVersionPlugin)
+@Title("semantic-version plugin build performance")
+@Requires({ sys["semanticVersion.benchmark"] })
+class SemanticVersionPluginBenchmark extends JGitSpecification {
+    static final int VERSION_READS = 100
+    static final int COMMIT_COUNT = 100
+    static final int TAG_INTERVAL = 10
+    static final int WARMUP_RUNS = 2
+    static final int MEASURED_RUNS = 5
+    static final double DEFAULT_TOLERANCE = 0.25
+    static final long MIN_REGRESSION_MILLIS = 50
+    static final String BASELINE_RESOURCE = "SemanticVersionPluginBenchmark.properties"
+
+    @Shared
+    Properties baseline = loadBaseline()
+
+    @Shared
+    Properties results = new Properties()
+
+    void cleanupSpec() {
+        def resultsFile = System.getProperty("semanticVersion.benchmark.results")
+        if (resultsFile) {
+            def file = new File(resultsFile)
+            file.parentFile.mkdirs()
+            file.withWriter { results.store(it, "SemanticVersionPluginBenchmark medians in milliseconds") }
+        }
+    }
+
+    def "builds #subprojectCount subprojects #configurationCacheDescription"() {
+        given: "a build of #subprojectCount subprojects, each reading the project version"
+        writeBuild(subprojectCount)
+
+        and: "a repository of $COMMIT_COUNT commits, tagged every $TAG_INTERVAL commits"
+        git.init()
+        git.add(".")
+        git.commit("Initial commit")
+        (1..COMMIT_COUNT).each {
+            git.commit("Commit $it")
+            if (it % TAG_INTERVAL == 0) git.tag("0.${it.intdiv(TAG_INTERVAL)}.0")
+        }
+
+        and: "a warm daemon"
+        def arguments = configurationCache ? ["--configuration-cache"] : []
+        def runner = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withPluginClasspath()
+        warmUp(runner, ["help", *arguments], ["versionInfo", "--rerun", *arguments], ["versionInfo", *arguments])
+
+        when: "configuring the build without a configuration cache entry"
+        def configuration = (1..MEASURED_RUNS).collect {
+            new File(repository, ".gradle/configuration-cache").deleteDir()
+            reportedTime(runner.withArguments(["help", *arguments]).build(), "configurationTime")
+        }
+
+        and: "executing the versionInfo tasks"
+        warmUp(runner, ["versionInfo", "--rerun", *arguments], ["versionInfo", *arguments])
+        def versionInfo = (1..MEASURED_RUNS).collect {
+            reportedTime(runner.withArguments(["versionInfo", "--rerun", *arguments]).build(), "executionTime")
+        }
+
+        and: "running a no-op build"
+        def noop = (1..MEASURED_RUNS).collect {
+            def start = System.nanoTime()
+            runner.withArguments(["versionInfo", *arguments]).build()
+            (System.nanoTime() - start).intdiv(1_000_000)
+        }
+
+        then: "does not regress against the baseline"
+        def scenario = "${subprojectCount}.${configurationCache ? "configurationCache" : "noConfigurationCache"}"
+        def actual = [configuration: median(configuration), versionInfo: median(versionInfo), noop: median(noop)]
+        actual.each { metric, value -> results.setProperty("${scenario}.${metric}", value as String) }
+        println("Built $subprojectCount subprojects $configurationCacheDescription in " +
+            actual.collect { metric, value -> "$metric ${value} ms" }.join(", ") + " (medians of $MEASURED_RUNS runs).")
+        regressions(scenario, actual) == []
+
+        where:
+        subprojectCount | configurationCache
+        10              | false
+        10              | true
+        100             | false
+        100             | true
+        1000            | false
+        1000            | true
+
+        configurationCacheDescription = configurationCache ? "with configuration cache" : "without configuration cache"
+    }
+
+    private void writeBuild(int subprojectCount) {
+        new File(repository, ".gitignore") << """
+            |.gradle/
+            |build/
+        """.stripMargin()
+        new File(repository, "settings.gradle.kts") << """
+            |import org.gradle.tooling.events.FinishEvent
+            |import org.gradle.tooling.events.OperationCompletionListener
+            |
+            |abstract class ExecutionTimer : BuildService<BuildServiceParameters.None>, OperationCompletionListener,
+            |    AutoCloseable {
+            |    private var start = Long.MAX_VALUE
+            |    private var end = Long.MIN_VALUE
+            |
+            |    override fun onFinish(event: FinishEvent) {
+            |        start = minOf(start, event.result.startTime)
+            |        end = maxOf(end, event.result.endTime)
+            |    }
+            |
+            |    override fun close() {
+            |        println("executionTime=" + (end - start))
+            |    }
+            |}
+            |
+            |abstract class ExecutionTimerPlugin @Inject constructor(
+            |    private val registry: BuildEventsListenerRegistry
+            |) : Plugin<Settings> {
+            |    override fun apply(settings: Settings) {
+            |        registry.onTaskCompletion(
+            |            settings.gradle.sharedServices.registerIfAbsent("executionTimer", ExecutionTimer::class) {}
+            |        )
+            |    }
+            |}
+            |
+            |apply<ExecutionTimerPlugin>()
+            |
+            |val configurationStart = System.nanoTime()
+            |gradle.projectsEvaluated {
+            |    println("configurationTime=" + (System.nanoTime() - configurationStart) / 1_000_000)
+            |}
+            |(1..$subprojectCount).forEach { include("project%04d".format(it)) }
+        """.stripMargin()
+        new File(repository, "build.gradle.kts") << """
+            |plugins {
+            |    id("jvmlabs.build.semantic-version")
+            |}
+        """.stripMargin()
+        (1..subprojectCount).each {
+            def projectDir = new File(repository, String.format("project%04d", it))
+            projectDir.mkdirs()
+            new File(projectDir, "build.gradle.kts") << """
+                |repeat($VERSION_READS) { version.toString() }
+            """.stripMargin()
+        }
+    }
+
+    private List<String> regressions(String scenario, Map<String, Long> actual) {
+        def tolerance = (System.getProperty("semanticVersion.benchmark.tolerance") ?: DEFAULT_TOLERANCE) as double
+        actual.findAll { metric, value ->
+            def expected = baseline.getProperty("${scenario}.${metric}") as Long
+            expected != null && value > expected * (1 + tolerance) && value - expected >= MIN_REGRESSION_MILLIS
+        }.collect { metric, value ->
+            "${scenario}.${metric}: ${value} ms, baseline ${baseline.getProperty("${scenario}.${metric}")} ms"
+        }
+    }
+
+    private static void warmUp(GradleRunner runner, List<String>... builds) {
+        WARMUP_RUNS.times { builds.each { runner.withArguments(it).build() } }
+    }
+
+    private static long reportedTime(BuildResult result, String name) {
+        def matcher = result.output =~ /$name=(\d+)/
+        assert matcher.find()
+        matcher.group(1) as long
+    }
+
+    private static long median(List<Long> values) {
+        values.sort()[values.size().intdiv(2)]
+    }
+
+    private static Properties loadBaseline() {
+        def baseline = new Properties()
+        SemanticVersionPluginBenchmark.getResourceAsStream(BASELINE_RESOURCE)?.withCloseable { baseline.load(it) }
+        baseline
+    }
+}
@@ -3,6 +3,7 @@ package io.margeta.jvmlabs.build.version
 import com.electronwill.nightconfig.core.Config
 import com.electronwill.nightconfig.core.file.FileConfig
 import groovy.transform.Memoized
+import org.gradle.testkit.runner.BuildResult
 import org.gradle.testkit.runner.GradleRunner
 import spock.lang.Subject
 import spock.lang.TempDir
@@ -12,6 +13,7 @@ import java.time.Instant
 import java.time.ZoneOffset
 import java.time.format.DateTimeFormatter
 
+import static org.gradle.testkit.runner.TaskOutcome.FROM_CACHE
 import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
 
 @Subject(SemanticVersionPlugin)
@@ -176,6 +178,259 @@ class SemanticVersionPluginTest extends JGitSpecification {
         }
     }
 
+    def "reuses the configuration cache until the repository changes"() {
+        given: "a task capturing the version at configuration time"
+        buildFile << """
+            |tasks.register("saveConfigVersion") {
+            |    val configVersion = project.version.toString()
+            |    val outputFile = file("${outputDir.absolutePath}/config.version")
+            |    doLast {
+            |        outputFile.writeText(configVersion)
+            |    }
+            |}
+        """.stripMargin()
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        and: "a configuration cache populated by a previous build"
+        configureWithConfigurationCache()
+
+        when: "configuring the unchanged project"
+        def reused = configureWithConfigurationCache()
+
+        then: "reuses the configuration cache"
+        reused.output.contains("Reusing configuration cache.")
+        new File(outputDir, "config.version").text == "0.1.0-SNAPSHOT+0.${this.commit.abbreviate(7).name()}"
+
+        when: "configuring the project after a new commit"
+        new File(repository, "CHANGELOG.md") << "Initial release"
+        git.add "CHANGELOG.md"
+        git.commit "Add changelog"
+        def recalculated = configureWithConfigurationCache()
+
+        then: "recalculates the project version"
+        !recalculated.output.contains("Reusing configuration cache.")
+        new File(outputDir, "config.version").text == "0.1.0-SNAPSHOT+1.${this.commit.abbreviate(7).name()}"
+    }
+
+    private BuildResult configureWithConfigurationCache() {
+        GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments(":saveConfigVersion", "--configuration-cache")
+            .withPluginClasspath()
+            .build()
+    }
+
+    def "executes version info tasks of many subprojects in parallel"() {
+        given: "a project with 200 subprojects"
+        (1..200).each { new File(repository, "sub$it").mkdir() }
+        new File(repository, "settings.gradle.kts") << (1..200).collect { "include(\"sub$it\")" }.join("\n")
+        buildFile << """
+            |subprojects {
+            |    val intervalFile = file("${outputDir.absolutePath}/\${name}.interval")
+            |    tasks.named("versionInfo") {
+            |        doFirst {
+            |            intervalFile.writeText(System.nanoTime().toString())
+            |            Thread.sleep(50)
+            |        }
+            |        doLast {
+            |            intervalFile.appendText(" \${System.nanoTime()}")
+            |        }
+            |    }
+            |}
+        """.stripMargin()
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "executing the versionInfo tasks in parallel"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments("versionInfo", "--parallel", "--max-workers=4")
+            .withPluginClasspath()
+            .build()
+
+        then: "executes the versionInfo tasks concurrently"
+        (1..200).every { actual.task(":sub$it:versionInfo").outcome == SUCCESS }
+        maxConcurrency(outputDir.listFiles().findAll { it.name.endsWith(".interval") }) > 1
+    }
+
+    def "performs the same git operations regardless of the number of subprojects"() {
+        given: "a project with subprojects"
+        (1..subprojects).each { new File(repository, "sub$it").mkdir() }
+        new File(repository, "settings.gradle.kts") << (1..subprojects).collect { "include(\"sub$it\")" }.join("\n")
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "executing the versionInfo tasks"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments("versionInfo", "--info")
+            .withPluginClasspath()
+            .build()
+
+        then: "performs the git operations once"
+        (actual.output =~ /Performed (\d+) git operations/).collect { it[1] as int }.sum() == 5
+
+        where:
+        subprojects | _
+        1           | _
+        50          | _
+    }
+
+    def "sets the versions of subprojects from the last commits changing their directories"() {
+        given: "a path-scoped configuration of subprojects saving their versions"
+        new File(repository, "settings.gradle.kts") << 'include("sub1", "sub2")'
+        buildFile << """
+            |semanticVersion {
+            |    pathScoped = true
+            |}
+            |
+            |subprojects {
+            |    tasks.register("saveVersion") {
+            |        val configVersion = project.version.toString()
+            |        val outputFile = file("${outputDir.absolutePath}/\${project.name}.version")
+            |        doLast {
+            |            outputFile.writeText(configVersion)
+            |        }
+            |    }
+            |}
+        """.stripMargin()
+
+        and: "a project with commits changing the subproject directories"
+        git.init()
+        (1..2).each {
+            new File(repository, "sub$it").mkdir()
+            new File(repository, "sub$it/README.md") << "# Sub $it"
+            git.add "sub$it/README.md"
+            git.commit "Add sub$it"
+        }
+        def sub2 = commit
+        new File(repository, "sub1/README.md") << "Changed"
+        git.add "sub1/README.md"
+        git.commit "Change sub1"
+        def sub1 = commit
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Add readme"
+
+        when: "configuring the projects"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments("saveVersion")
+            .withPluginClasspath()
+            .build()
+
+        then: "sets the versions from the last commits changing the subproject directories"
+        actual.task(":sub1:saveVersion").outcome == SUCCESS
+        new File(outputDir, "sub1.version").text == "0.1.0-SNAPSHOT+2.${sub1.abbreviate(7).name()}"
+        new File(outputDir, "sub2.version").text == "0.1.0-SNAPSHOT+1.${sub2.abbreviate(7).name()}"
+    }
+
+    def "sets the versions of subprojects from the last commits changing their directories since a tag"() {
+        given: "a path-scoped configuration of 30 subprojects saving their versions"
+        new File(repository, "settings.gradle.kts") << (1..30).collect { "include(\"sub$it\")" }.join("\n")
+        buildFile << """
+            |semanticVersion {
+            |    pathScoped = true
+            |}
+            |
+            |subprojects {
+            |    tasks.register("saveVersion") {
+            |        val configVersion = project.version.toString()
+            |        val outputFile = file("${outputDir.absolutePath}/\${project.name}.version")
+            |        doLast {
+            |            outputFile.writeText(configVersion)
+            |        }
+            |    }
+            |}
+        """.stripMargin()
+
+        and: "a tagged project with a commit changing every subproject directory"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+        git.tag "0.1.0"
+        def subs = (1..30).collect {
+            new File(repository, "sub$it").mkdir()
+            new File(repository, "sub$it/README.md") << "# Sub $it"
+            git.add "sub$it/README.md"
+            git.commit "Add sub$it"
+            commit
+        }
+        new File(repository, "README.md") << "Changed"
+        git.add "README.md"
+        git.commit "Change readme"
+
+        when: "configuring the projects"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments("saveVersion")
+            .withPluginClasspath()
+            .build()
+
+        then: "counts the build numbers of the subprojects from the tag"
+        actual.task(":sub1:saveVersion").outcome == SUCCESS
+        (1..30).every {
+            new File(outputDir, "sub${it}.version").text ==
+                "0.1.0-SNAPSHOT+${it}.${subs[it - 1].abbreviate(7).name()}"
+        }
+    }
+
+    def "reports the plugin operation timings"() {
+        given: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "executing the versionInfo task"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments(":versionInfo", "--info")
+            .withPluginClasspath()
+            .build()
+
+        then: "reports the timings"
+        actual.task(":versionInfo").outcome == SUCCESS
+        actual.output.contains("Timed git.describe 1 times")
+        def report = FileConfig.of(new File(repository, "build/reports/semantic-version/timings.json"))
+        report.load()
+        List<Config> operations = report.get("operations")
+        operations*.get("name").containsAll(
+            ["git.describe", "git.dirtyCheck", "git.head", "version.provider", "versionInfo.serialize"])
+        operations.every {
+            it.<Number> get("count") > 0 && it.<Number> get("totalNanos") >= it.<Number> get("p99Nanos")
+        }
+    }
+
+    private static int maxConcurrency(Collection<File> intervalFiles) {
+        def events = intervalFiles.collectMany {
+            def (start, end) = it.text.tokenize(" ").collect { it as long }
+            [[start, 1], [end, -1]]
+        }.sort { left, right -> left[0] <=> right[0] ?: left[1] <=> right[1] }
+        def running = 0
+        events.collect { running += it[1] }.max()
+    }
+
     def "creates version info output file of a project that is not a repository"() {
         given: "a project that is not a repository"
 
@@ -391,9 +646,228 @@ class SemanticVersionPluginTest extends JGitSpecification {
         }
     }
 
+    def "creates changelog json output file of a project with tagged commits"() {
+        given: "a changelog configuration"
+        buildFile << """
+            |semanticVersion {
+            |    changelog {
+            |        formatter.set("JSON")
+            |        conventionalCommits.set(true)
+            |    }
+            |}
+        """.stripMargin()
+
+        and: "a project with a tagged commit and an untagged commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+        git.tag "1.0.0"
+        def tagged = commit
+        new File(repository, "README.md") << "\nExport"
+        git.add "README.md"
+        git.commit "feat(export): add the export"
+
+        when: "executing the changelog task"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments(":changelog")
+            .withPluginClasspath()
+            .build()
+
+        then: "creates the changelog output file"
+        actual.task(":changelog").outcome == SUCCESS
+        def releases = changelog().<List<Config>> get("releases")
+        releases.size() == 2
+        with(releases[0]) {
+            !contains("tag")
+            get("groups")*.get("type") == ["feat"]
+            with(get("groups")[0].get("commits")[0]) {
+                get("id") == this.commit.name
+                get("scope") == "export"
+                get("description") == "add the export"
+            }
+        }
+        with(releases[1]) {
+            get("tag") == "1.0.0"
+            get("groups")*.get("type") == ["other"]
+            get("groups")[0].get("commits")[0].get("id") == tagged.name
+        }
+    }
+
+    def "creates reproducible version info output file of a project with a commit"() {
+        given: "a reproducible version info configuration"
+        buildFile << """
+            |semanticVersion {
+            |    versionInfo {
+            |        reproducible.set(true)
+            |    }
+            |}
+        """.stripMargin()
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit", "First Last", "first_last@domain.com"
+
+        when: "executing the versionInfo task"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments(":versionInfo", "--build-cache")
+            .withPluginClasspath()
+            .build()
+
+        then: "creates the version info output file without the host"
+        actual.task(":versionInfo").outcome == SUCCESS
+        with(versionInfo()) {
+            get("commit_id") == this.commit.name
+            get("build_number") == 0
+            get("dirty") == false
+            get("host") == null
+        }
+
+        when: "executing the versionInfo task of the same commit in a clean build"
+        new File(repository, "build").deleteDir()
+        def cached = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments(":versionInfo", "--build-cache")
+            .withPluginClasspath()
+            .build()
+
+        then: "loads the version info output file from the build cache"
+        cached.task(":versionInfo").outcome == FROM_CACHE
+    }
+
+    def "adds the version info output file to the main resources"() {
+        given: "a java project"
+        buildFile.text = buildFile.text.replace(
+            'id("jvmlabs.build.semantic-version")', 'java\n    id("jvmlabs.build.semantic-version")')
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "processing the main resources"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments(":processResources")
+            .withPluginClasspath()
+            .build()
+
+        then: "generates and copies the version info output file"
+        actual.task(":versionInfo").outcome == SUCCESS
+        actual.task(":processResources").outcome == SUCCESS
+        new File(repository, "build/resources/main/version.toml").isFile()
+    }
+
+    def "compiles the version info source into the main classes"() {
+        given: "a java project with the version info source enabled"
+        buildFile.text = buildFile.text.replace(
+            'id("jvmlabs.build.semantic-version")', 'java\n    id("jvmlabs.build.semantic-version")')
+        buildFile << """
+            |semanticVersion {
+            |    versionInfo {
+            |        source {
+            |            enabled = true
+            |            packageName = "io.margeta.demo"
+            |        }
+            |    }
+            |}
+            |""".stripMargin()
+
+        and: "a class that uses the version info constants"
+        def sourceFile = new File(repository, "src/main/java/io/margeta/demo/Main.java")
+        sourceFile.parentFile.mkdirs()
+        sourceFile << """
+            |package io.margeta.demo;
+            |
+            |public class Main {
+            |    public static final String VERSION = VersionInfo.VERSION;
+            |}
+            |""".stripMargin()
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "compiling the main classes"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments(":compileJava")
+            .withPluginClasspath()
+            .build()
+
+        then: "generates and compiles the version info source"
+        actual.task(":versionInfoSource").outcome == SUCCESS
+        actual.task(":compileJava").outcome == SUCCESS
+        with(new File(repository, "build/generated/sources/versionInfo/java/main/io/margeta/demo/VersionInfo.java")) {
+            text.contains("public static final String COMMIT_ID = \"${this.commit.name}\";")
+        }
+        new File(repository, "build/classes/java/main/io/margeta/demo/VersionInfo.class").isFile()
+    }
+
+    def "compiles the version info source of a subproject into a package named after its group"() {
+        given: "a java subproject with the version info source enabled and a group that is not a package name"
+        new File(repository, "settings.gradle.kts") << """
+            |rootProject.name = "jvm-labs"
+            |include("rest-module:movies")
+            |""".stripMargin()
+        new File(repository, "rest-module/movies").mkdirs()
+        buildFile << """
+            |semanticVersion {
+            |    versionInfo {
+            |        source {
+            |            enabled = true
+            |        }
+            |    }
+            |}
+            |
+            |project(":rest-module:movies") {
+            |    apply(plugin = "java")
+            |}
+            |""".stripMargin()
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "compiling the main classes of the subproject"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments(":rest-module:movies:compileJava")
+            .withPluginClasspath()
+            .build()
+
+        then: "generates and compiles the version info source into a package made from the group"
+        actual.task(":rest-module:movies:versionInfoSource").outcome == SUCCESS
+        actual.task(":rest-module:movies:compileJava").outcome == SUCCESS
+        new File(repository, "rest-module/movies/build/classes/java/main/jvm_labs/rest_module/VersionInfo.class")
+            .isFile()
+    }
+
+    private Config changelog() {
+        def changelog = FileConfig.of(repository.toPath().resolve("build/changelog/changelog.json").toFile())
+        changelog.load()
+        changelog
+    }
+
     @Memoized
     private Config versionInfo(String fileName = "version.toml") {
-        def versionInfo = FileConfig.of(repository.toPath().resolve("build/resources/main/$fileName").toFile())
+        def versionInfo = FileConfig.of(
+            repository.toPath().resolve("build/generated/resources/versionInfo/$fileName").toFile())
         versionInfo.load()
         versionInfo
     }
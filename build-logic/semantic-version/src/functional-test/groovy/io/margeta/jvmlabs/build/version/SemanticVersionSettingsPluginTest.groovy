@@ -0,0 +1,104 @@
+package io.margeta.jvmlabs.build.version
+
+import org.gradle.testkit.runner.GradleRunner
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+
+@Subject(SemanticVersionSettingsPlugin)
+@Title("semantic-version settings plugin")
+class SemanticVersionSettingsPluginTest extends JGitSpecification {
+    File settingsFile
+
+    @TempDir
+    File outputDir
+
+    void setup() {
+        settingsFile = new File(repository, "settings.gradle.kts")
+        settingsFile << """
+            |plugins {
+            |    id("io.margeta.jvmlabs.build.semantic-version.settings")
+            |}
+            |
+            |rootProject.name = "root"
+        """.stripMargin()
+    }
+
+    def "sets the configured version of every project"() {
+        given: "a calendar version configuration and subprojects saving their versions"
+        settingsFile << """
+            |semanticVersion {
+            |    majorFormat = "YYYY"
+            |    minorFormat = "MM"
+            |    date = java.time.LocalDate.of(2025, 6, 1)
+            |}
+            |
+            |(1..3).forEach { include("sub\$it") }
+        """.stripMargin()
+        (1..3).each {
+            new File(repository, "sub$it").mkdir()
+            new File(repository, "sub$it/build.gradle.kts") << """
+                |tasks.register("saveVersion") {
+                |    val configVersion = project.version.toString()
+                |    val outputFile = file("${outputDir.absolutePath}/\${project.name}.version")
+                |    doLast {
+                |        outputFile.writeText(configVersion)
+                |    }
+                |}
+            """.stripMargin()
+        }
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "configuring the projects"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments("saveVersion")
+            .withPluginClasspath()
+            .build()
+
+        then: "sets the version of every project"
+        (1..3).every { actual.task(":sub$it:saveVersion").outcome == SUCCESS }
+        (1..3).every {
+            new File(outputDir, "sub${it}.version").text == "2025.6.0-SNAPSHOT+0.${this.commit.abbreviate(7).name()}"
+        }
+    }
+
+    def "shares the version info output file of the root project with isolated projects"() {
+        given: "java subprojects"
+        settingsFile << "(1..20).forEach { include(\"sub\$it\") }"
+        (1..20).each {
+            new File(repository, "sub$it").mkdir()
+            new File(repository, "sub$it/build.gradle.kts") << "plugins {\n    java\n}"
+        }
+
+        and: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "processing the main resources with isolated projects"
+        def actual = GradleRunner
+            .create()
+            .withProjectDir(repository)
+            .withArguments("processResources", "-Dorg.gradle.unsafe.isolated-projects=true")
+            .withPluginClasspath()
+            .build()
+
+        then: "generates the version info output file once and copies it into every subproject"
+        actual.task(":versionInfo").outcome == SUCCESS
+        actual.tasks.count { it.path.endsWith(":versionInfo") } == 1
+        (1..20).every {
+            actual.task(":sub$it:processResources").outcome == SUCCESS &&
+                new File(repository, "sub$it/build/resources/main/version.toml").isFile()
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.lib.Constants
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.Title
+
+@Subject(ChangelogWalk)
+@Title("changelog walk")
+class ChangelogWalkTest extends JGitSpecification {
+    int files
+    def "assigns the commits to their releases"() {
+        given: "a project with tagged and untagged commits"
+        git.init()
+        commits("Initial commit")
+        git.tag "1.0.0"
+        commits("Add feature", "Fix feature")
+        git.tag "1.1.0"
+        commits("Start next feature")
+
+        when: "walking the changelog"
+        def actual = walk(10)
+
+        then: "lists the releases newest first"
+        actual.releases()*.tag() == [null, "1.1.0", "1.0.0"]
+        actual.releases().collect { it.commits()*.message() } == [
+            ["Start next feature"], ["Fix feature", "Add feature"], ["Initial commit"]]
+    }
+
+    def "limits the changelog to the latest releases"() {
+        given: "a project with three releases"
+        git.init()
+        (1..3).each {
+            commits("Release $it")
+            git.tag "1.$it.0"
+        }
+
+        when: "walking the changelog of two releases"
+        def actual = walk(2)
+
+        then: "stops at the oldest listed release"
+        actual.releases()*.tag() == ["1.3.0", "1.2.0"]
+        actual.releases().collect { it.commits()*.message() } == [["Release 3"], ["Release 2"]]
+    }
+
+    def "assigns merged commits to the oldest release containing them"() {
+        given: "a project with a feature branch merged after a release"
+        git.init()
+        commits("Initial commit")
+        git.tag "1.0.0"
+        git.checkout "feature", true
+        commits("Add feature")
+        git.checkout "main"
+        commits("Fix bug")
+        git.tag "1.1.0"
+        git.merge "feature"
+        git.tag "1.2.0"
+
+        when: "walking the changelog"
+        def actual = walk(10)
+
+        then: "lists each commit once under the release that first contains it"
+        actual.releases()*.tag() == ["1.2.0", "1.1.0", "1.0.0"]
+        actual.releases().collect { it.commits()*.message() } == [
+            ["Merge feature", "Add feature"], ["Fix bug"], ["Initial commit"]]
+    }
+
+    private void commits(String... messages) {
+        messages.each {
+            def path = "file${files++}.txt"
+            new File(repository, path) << "$it\n"
+            git.add path
+            git.commit it
+        }
+    }
+
+    private Changelog walk(int releases) {
+        new FileRepositoryBuilder().setWorkTree(repository).build().withCloseable {
+            ChangelogWalk.walk(it, it.resolve(Constants.HEAD), TagIndex.load(null).tagged(it, "*"), releases)
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.lib.Constants
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+
+import java.time.Instant
+
+@Subject(CommitDepthIndex)
+@Title("commit depth index")
+class CommitDepthIndexTest extends JGitSpecification {
+    @TempDir
+    File indexDirectory
+
+    def "calculates a commit depth"() {
+        given: "a project with commits"
+        git.init()
+        commits("README.md", 3)
+
+        when: "calculating the head commit depth"
+        def actual = commitDepth()
+
+        then: "calculates the number of commits reachable from the head commit"
+        actual == 3
+    }
+
+    def "calculates a commit depth of a merge commit"() {
+        given: "a project with commits"
+        git.init()
+        commits("README.md", 2)
+
+        and: "a merged branch"
+        git.checkout "feature", true
+        commits("FEATURE.md", 2)
+        git.checkout "main"
+        commits("CHANGELOG.md", 1)
+        git.merge "feature"
+
+        when: "calculating the head commit depth"
+        def actual = commitDepth()
+
+        then: "calculates the number of commits reachable from the head commit"
+        actual == 6
+    }
+
+    def "calculates a commit depth incrementally from an indexed commit"() {
+        given: "a project with an indexed commit"
+        git.init()
+        commits("README.md", 3)
+        commitDepth()
+
+        and: "new commits on another branch"
+        git.checkout "feature", true
+        commits("FEATURE.md", 2)
+        git.checkout "main"
+        git.merge "feature"
+
+        when: "calculating the head commit depth"
+        def actual = commitDepth()
+
+        then: "calculates the number of commits reachable from the head commit"
+        actual == 6
+    }
+
+    def "calculates a commit depth of a commit that does not descend from an indexed commit"() {
+        given: "a project with an indexed commit"
+        git.init()
+        commits("README.md", 2)
+        git.checkout "feature", true
+        commits("FEATURE.md", 3)
+        commitDepth()
+
+        and: "a diverged branch"
+        git.checkout "main"
+        commits("CHANGELOG.md", 1)
+
+        when: "calculating the head commit depth"
+        def actual = commitDepth()
+
+        then: "calculates the number of commits reachable from the head commit"
+        actual == 3
+    }
+
+    def "calculates a commit depth of an ancestor of an indexed commit with the same commit time"() {
+        given: "a project with commits made at the same time"
+        git.init()
+        def time = Instant.parse("2025-01-01T00:00:00Z")
+        def commits = (1..20).collect {
+            new File(repository, "README.md") << "$it\n"
+            git.add "README.md"
+            git.commit "Update README.md", time
+            commit
+        }
+
+        and: "an indexed head commit"
+        commitDepth()
+
+        when: "calculating the commit depth of an ancestor"
+        def actual = commitDepth(commits[9].name())
+
+        then: "calculates the number of commits reachable from the ancestor"
+        actual == 10
+    }
+
+    private void commits(String fileName, int count) {
+        count.times {
+            new File(repository, fileName) << "$it\n"
+            git.add fileName
+            git.commit "Update $fileName"
+        }
+    }
+
+    private long commitDepth(String revision = Constants.HEAD) {
+        new FileRepositoryBuilder().setWorkTree(repository).build().withCloseable {
+            def sut = CommitDepthIndex.load(indexDirectory)
+            def depth = sut.commitDepth(it, it.resolve(revision))
+            sut.store()
+            depth
+        }
+    }
+}
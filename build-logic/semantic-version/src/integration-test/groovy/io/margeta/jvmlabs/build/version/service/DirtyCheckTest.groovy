@@ -0,0 +1,88 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.Title
+
+@Subject(DirtyCheck)
+@Title("dirty check")
+class DirtyCheckTest extends JGitSpecification {
+    void setup() {
+        git.init()
+        new File(repository, "src").mkdirs()
+        ["README.md", "src/a.txt", "src/b.txt"].each {
+            new File(repository, it) << "# $it"
+            git.add it
+        }
+        git.commit "Initial commit"
+    }
+
+    def "does not find changes in a clean tree"() {
+        expect: "the tree is clean"
+        !isDirty(sut)
+
+        where:
+        sut << DirtyCheck.values()
+    }
+
+    def "does not find changes in a tree with untracked files only"() {
+        given: "an untracked file"
+        new File(repository, "src/c.txt") << "# c"
+
+        expect: "the tree is clean"
+        !isDirty(sut)
+
+        where:
+        sut << DirtyCheck.values()
+    }
+
+    def "finds a modified file"() {
+        given: "a file modified without changing its size"
+        new File(repository, "src/a.txt").text = "# src/A.txt"
+
+        expect: "the tree is dirty"
+        isDirty(sut)
+
+        where:
+        sut << DirtyCheck.values()
+    }
+
+    def "finds a deleted file"() {
+        given: "a deleted file"
+        new File(repository, "src/b.txt").delete()
+
+        expect: "the tree is dirty"
+        isDirty(sut)
+
+        where:
+        sut << DirtyCheck.values()
+    }
+
+    def "finds a staged file"() {
+        given: "a staged file"
+        new File(repository, "src/c.txt") << "# c"
+        git.add "src/c.txt"
+
+        expect: "the tree is dirty"
+        isDirty(sut)
+
+        where:
+        sut << DirtyCheck.values()
+    }
+
+    def "does not find changes in a touched file"() {
+        given: "a file with a modified timestamp"
+        new File(repository, "src/a.txt").lastModified = System.currentTimeMillis() + 10_000
+
+        expect: "the tree is clean"
+        !isDirty(sut)
+
+        where:
+        sut << DirtyCheck.values()
+    }
+
+    private boolean isDirty(DirtyCheck sut) {
+        new FileRepositoryBuilder().setWorkTree(repository).build().withCloseable { sut.isDirty(it) }
+    }
+}
@@ -0,0 +1,232 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+
+import java.time.Duration
+import java.time.Instant
+
+@Subject(GitBackend)
+@Title("git backend")
+class GitBackendTest extends JGitSpecification {
+    @TempDir
+    File cacheDirectory
+
+    void setup() {
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+        git.tag "0.1.0"
+        new File(repository, "CHANGELOG.md") << "Initial release"
+        git.add "CHANGELOG.md"
+        git.commit "Add changelog", "First Last", "first_last@domain.com"
+    }
+
+    def "describes a project"() {
+        expect: "describes the project"
+        withOperations(sut) { it.describe("*") } == "0.1.0-1-g${commit.abbreviate(7).name()}"
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "describes a project with a distant tag"() {
+        given: "commits after the tagged commit"
+        12.times {
+            new File(repository, "CHANGELOG.md") << "$it\n"
+            git.add "CHANGELOG.md"
+            git.commit "Update changelog"
+        }
+
+        expect: "counts every commit since the tagged commit"
+        withOperations(sut) { it.describe("*") } == "0.1.0-13-g${commit.abbreviate(7).name()}"
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "describes a merge with the tag fewest commits away"() {
+        given: "a feature branch tagged right after the branch point"
+        def time = Instant.ofEpochSecond(commit.commitTime)
+        git.checkout "feature", true
+        (1..50).each {
+            git.commit "Feature $it", time + Duration.ofHours(1) + Duration.ofMinutes(it)
+            if (it == 1) git.tag "1.1.0-feature"
+        }
+
+        and: "a main branch tagged 20 commits after the branch point"
+        git.checkout "main"
+        (1..21).each {
+            git.commit "Main $it", time + Duration.ofMinutes(it)
+            if (it == 20) git.tag "1.0.0"
+        }
+
+        and: "the feature branch merged into the main branch"
+        git.merge "feature", time + Duration.ofDays(1)
+
+        expect: "describes the merge with the tag fewest commits away, like git describe"
+        withOperations(sut) { it.describe("*") } == "1.0.0-52-g${commit.abbreviate(7).name()}"
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "describes merge history #seed like git describe"() {
+        given: "a random history of branches, merges and tags"
+        def random = new Random(seed)
+        def branches = ["main"]
+        def current = "main"
+        def tags = 0
+        60.times { step ->
+            def action = random.nextInt(10)
+            if (action < 5) {
+                git.commit "Commit $step"
+            } else if (action == 5) {
+                current = "branch$step"
+                git.checkout current, true
+                branches << current
+            } else if (action == 6) {
+                current = branches[random.nextInt(branches.size())]
+                git.checkout current
+            } else if (action < 9) {
+                def other = branches[random.nextInt(branches.size())]
+                if (other != current) git.merge other
+            } else {
+                git.tag "1.${tags++}.0"
+            }
+        }
+
+        expect: "describes the history like git describe"
+        withOperations(GitBackend.JGIT) { it.describe("*") } == withOperations(GitBackend.CLI) { it.describe("*") }
+
+        where:
+        seed << (1..20)
+    }
+
+    def "checks a project for uncommitted changes"() {
+        expect: "the tree is clean"
+        !withOperations(sut) { it.dirty }
+
+        when: "a file is modified"
+        new File(repository, "README.md") << "Modified"
+
+        then: "the tree is dirty"
+        withOperations(sut) { it.dirty }
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "finds a project head commit"() {
+        when: "finding the project head commit"
+        def actual = withOperations(sut) { it.head() }
+
+        then: "finds the project head commit"
+        with(actual) {
+            id() == commit.name()
+            idAbbrev() == commit.abbreviate(7).name()
+            message() == "Add changelog"
+            time() == Instant.ofEpochSecond(commit.commitTime)
+            userEmail() == "first_last@domain.com"
+            userName() == "First Last"
+        }
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "finds a project branch"() {
+        expect: "finds the project branch"
+        withOperations(sut) { it.branch() } == "main"
+
+        when: "detaching the head"
+        git.checkout commit.name()
+
+        then: "finds the project head commit id"
+        withOperations(sut) { it.branch() } == commit.name()
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "calculates a project commit depth"() {
+        expect: "calculates the project commit depth"
+        withOperations(sut) { it.commitDepth() } == 2
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "finds the last commit changing a project path"() {
+        given: "a commit changing a project path"
+        def changed = commit
+        new File(repository, "sub").mkdir()
+        new File(repository, "sub/README.md") << "# Sub"
+        git.add "sub/README.md"
+        git.commit "Add sub"
+        def sub = commit
+        new File(repository, "CHANGELOG.md") << "Next release"
+        git.add "CHANGELOG.md"
+        git.commit "Update changelog"
+
+        expect: "finds the last commit changing the project path"
+        withOperations(sut) { it.lastCommit("sub") } == sub.name()
+        withOperations(sut) { it.lastCommit("CHANGELOG.md") } == commit.name()
+        withOperations(sut) { it.lastCommit("missing") } == null
+        withOperations(sut) { it.commit(sub.name()) }.idAbbrev() == sub.abbreviate(7).name()
+        withOperations(sut) { it.commitDepth(changed.name()) } == 2
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "records the backend calibration"() {
+        given: "a calibration made by a previous build"
+        withOperations(GitBackend.AUTO) { it.describe("*") }
+
+        expect: "records the selected backend and what the calibration depends on"
+        with(calibration()) {
+            getProperty("describe") in GitBackend.values()*.name()
+            getProperty("plugin.version")
+            getProperty("git.version") == "git --version".execute().text.strip()
+            getProperty("refs") == "3"
+            getProperty("packs") == "0"
+        }
+    }
+
+    def "recalibrates an out of date backend calibration"() {
+        given: "a calibration made with another git version"
+        new File(cacheDirectory, "git-backend.properties").withWriter {
+            def calibration = new Properties()
+            calibration.putAll(["describe": "CLI", "git.version": "git version 0.0.0", "refs": "3", "packs": "0"])
+            calibration.store(it, null)
+        }
+
+        when: "describing the project"
+        withOperations(GitBackend.AUTO) { it.describe("*") }
+
+        then: "recalibrates the backends"
+        calibration().getProperty("git.version") == "git --version".execute().text.strip()
+    }
+
+    private Properties calibration() {
+        def calibration = new Properties()
+        new File(cacheDirectory, "git-backend.properties").withReader { calibration.load(it) }
+        calibration
+    }
+
+    private <T> T withOperations(GitBackend backend, Closure<T> action) {
+        new FileRepositoryBuilder().setWorkTree(repository).build().withCloseable { repository ->
+            def operations = backend.open(repository, DirtyCheck.INDEX, cacheDirectory)
+            try {
+                action(operations)
+            } finally {
+                operations.close()
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+
+@Subject(GitCache)
+@Title("git cache")
+class GitCacheTest extends JGitSpecification {
+    @TempDir
+    File cacheDirectory
+
+    def "answers a repeated query from the cache"() {
+        given: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        and: "a cache populated by a previous build"
+        withCache { it.describe("*") { "1234567" } }
+
+        when: "querying the cache in the next build"
+        def sut = withCache { it }
+        def actual = sut.describe("*") { throw new IllegalStateException("Not cached.") }
+
+        then: "answers from the cache"
+        actual == "1234567"
+        sut.hits == 1
+        sut.misses == 0
+    }
+
+    def "rebuilds a cache when the head commit moves"() {
+        given: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        and: "a cache populated by a previous build"
+        withCache { it.commitDepth { 1L } }
+
+        and: "a new commit"
+        new File(repository, "CHANGELOG.md") << "Initial release"
+        git.add "CHANGELOG.md"
+        git.commit "Add changelog"
+
+        when: "querying the cache in the next build"
+        def sut = withCache { it }
+        def actual = sut.commitDepth { 2L }
+
+        then: "recomputes the value"
+        actual == 2
+        sut.hits == 0
+        sut.misses == 1
+    }
+
+    def "rebuilds a cache when the tags change"() {
+        given: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        and: "a cache populated by a previous build"
+        withCache { it.describe("*") { "1234567" } }
+
+        and: "a new tag"
+        git.tag "0.1.0"
+
+        when: "querying the cache in the next build"
+        def sut = withCache { it }
+        def actual = sut.describe("*") { "0.1.0-0-g1234567" }
+
+        then: "recomputes the value"
+        actual == "0.1.0-0-g1234567"
+        sut.hits == 0
+        sut.misses == 1
+    }
+
+    private <T> T withCache(Closure<T> action) {
+        new FileRepositoryBuilder().setWorkTree(repository).build().withCloseable {
+            def cache = GitCache.load(cacheDirectory, it)
+            def result = action(cache)
+            cache.store()
+            result
+        }
+    }
+}
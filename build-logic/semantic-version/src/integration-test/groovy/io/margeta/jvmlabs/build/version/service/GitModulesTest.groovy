@@ -0,0 +1,129 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.api.Git
+import org.eclipse.jgit.revwalk.RevCommit
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+
+import java.time.Duration
+
+import static TreeState.CLEAN
+import static TreeState.DIRTY
+
+@Subject(GitModules)
+@Title("git modules")
+class GitModulesTest extends JGitSpecification {
+    @TempDir
+    File library
+
+    @TempDir
+    File worktrees
+
+    RevCommit libraryCommit
+
+    void setup() {
+        Git.init().setDirectory(library).setInitialBranch("main").call().withCloseable {
+            new File(library, "LIBRARY.md") << "# Library"
+            it.add().addFilepattern("LIBRARY.md").call()
+            libraryCommit = it.commit().setMessage("Initial library commit").call()
+            it.tag().setName("1.0.0").setAnnotated(true).call()
+        }
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+        Git.open(repository).withCloseable {
+            it.submoduleAdd().setURI(library.toURI().toString()).setPath("libs/library").call().close()
+        }
+        git.commit "Add library"
+    }
+
+    def "finds the submodules and linked worktrees"() {
+        given: "a linked worktree"
+        addWorktree("feature")
+
+        when: "finding the modules"
+        def actual = new FileRepositoryBuilder().setWorkTree(repository).build().withCloseable {
+            GitModules.find(it)
+        }
+
+        then: "finds the submodule and the worktree"
+        actual*.path() == ["libs/library", "feature"]
+        actual*.kind() == [GitService.Module.Kind.SUBMODULE, GitService.Module.Kind.WORKTREE]
+        actual[0].recorded().name == libraryCommit.name
+        actual[1].workTree().canonicalFile == new File(worktrees, "feature").canonicalFile
+    }
+
+    def "collects the state of the submodules"() {
+        when: "taking the project snapshot with modules"
+        def actual = snapshot(sut, true)
+
+        then: "describes the submodule"
+        actual.modules().size() == 1
+        with(actual.modules().first()) {
+            path() == "libs/library"
+            head().id() == libraryCommit.name
+            objectName().format() == "1.0.0-0-g${libraryCommit.abbreviate(7).name()}"
+        }
+        actual.objectName().treeState() == CLEAN
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "marks the snapshot dirty when a submodule has uncommitted changes"() {
+        given: "a modified submodule file"
+        new File(repository, "libs/library/LIBRARY.md") << "Modified"
+
+        when: "taking the project snapshot with modules"
+        def actual = snapshot(sut, true)
+
+        then: "marks the submodule and the project dirty"
+        actual.modules().first().objectName().treeState() == DIRTY
+        actual.objectName().treeState() == DIRTY
+
+        where:
+        sut << GitBackend.values()
+    }
+
+    def "marks the snapshot dirty when a submodule is not at the recorded commit"() {
+        given: "a submodule commit that is not recorded in the project"
+        Git.open(new File(repository, "libs/library")).withCloseable {
+            new File(repository, "libs/library/CHANGELOG.md") << "Unreleased"
+            it.add().addFilepattern("CHANGELOG.md").call()
+            it.commit().setMessage("Add changelog").call()
+        }
+
+        when: "taking the project snapshot with modules"
+        def actual = snapshot(GitBackend.JGIT, true)
+
+        then: "marks the submodule and the project dirty"
+        actual.modules().first().objectName().treeState() == DIRTY
+        actual.objectName().treeState() == DIRTY
+    }
+
+    def "leaves the modules out unless enabled"() {
+        when: "taking the project snapshot without modules"
+        def actual = snapshot(GitBackend.JGIT, false)
+
+        then: "collects no modules"
+        actual.modules().isEmpty()
+        actual.objectName().treeState() == CLEAN
+    }
+
+    private void addWorktree(String name) {
+        def process = ["git", "worktree", "add", "-q", "-b", name, new File(worktrees, name).path]
+            .execute(null, repository)
+        process.waitForProcessOutput()
+        assert process.exitValue() == 0
+    }
+
+    private GitSnapshot snapshot(GitBackend backend, boolean modules) {
+        GitRepository.open(
+            repository, repository, null, DirtyCheck.INDEX, backend, Duration.ofSeconds(30L), false, modules)
+            .withCloseable { it.snapshot("*") }
+    }
+}
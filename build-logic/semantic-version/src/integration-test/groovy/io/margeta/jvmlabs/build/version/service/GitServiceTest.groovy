@@ -5,6 +5,7 @@ import org.gradle.api.provider.Property
 import spock.lang.Subject
 import spock.lang.Title
 
+import java.time.Duration
 import java.time.Instant
 
 import static TreeState.CLEAN
@@ -14,10 +15,20 @@ import static TreeState.DIRTY
 @Title("git service")
 class GitServiceTest extends JGitSpecification {
     private GitService sut
+    private String dirtyCheckName
+    private String backendName
 
     void setup() {
         def projectDirectory = Stub(Property<File>)
         def ceilingDirectory = Stub(Property<File>)
+        def cacheDirectory = Stub(Property<File>)
+        def dirtyCheck = Stub(Property<String>)
+        def backend = Stub(Property<String>)
+        def tagPattern = Stub(Property<String>)
+        def timeout = Stub(Property<Duration>)
+        def repositoryPool = Stub(Property<Boolean>)
+        def modules = Stub(Property<Boolean>)
+        def snapshot = Stub(Property<GitSnapshot>)
         sut = new GitService() {
             @Override
             GitService.Parameters getParameters() {
@@ -31,11 +42,162 @@ class GitServiceTest extends JGitSpecification {
                     Property<File> getCeilingDirectory() {
                         return ceilingDirectory
                     }
+
+                    @Override
+                    Property<File> getCacheDirectory() {
+                        return cacheDirectory
+                    }
+
+                    @Override
+                    Property<String> getDirtyCheck() {
+                        return dirtyCheck
+                    }
+
+                    @Override
+                    Property<String> getBackend() {
+                        return backend
+                    }
+
+                    @Override
+                    Property<String> getTagPattern() {
+                        return tagPattern
+                    }
+
+                    @Override
+                    Property<Duration> getTimeout() {
+                        return timeout
+                    }
+
+                    @Override
+                    Property<Boolean> getRepositoryPool() {
+                        return repositoryPool
+                    }
+
+                    @Override
+                    Property<Boolean> getModules() {
+                        return modules
+                    }
+
+                    @Override
+                    Property<GitSnapshot> getSnapshot() {
+                        return snapshot
+                    }
                 }
             }
         }
         projectDirectory.get() >> repository
         ceilingDirectory.getOrNull() >> repository
+        dirtyCheck.getOrElse(_) >> { dirtyCheckName ?: it[0] }
+        backend.getOrElse(_) >> { backendName ?: it[0] }
+        tagPattern.getOrElse(_) >> { it[0] }
+        timeout.getOrNull() >> Duration.ofSeconds(30L)
+        repositoryPool.getOrElse(_) >> { it[0] }
+        modules.getOrElse(_) >> { it[0] }
+    }
+
+    def "takes a snapshot of a project with a tagged commit once"() {
+        given: "a project with a tagged commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+        git.tag "0.1.0"
+        new File(repository, "CHANGELOG.md") << "Initial release"
+        git.commit "Add changelog"
+
+        when: "taking the project snapshot repeatedly"
+        def actual = (1..10).collect { sut.snapshot() }.unique()
+
+        then: "takes the project snapshot once"
+        actual.size() == 1
+        with(actual.first()) {
+            head().id() == commit.name()
+            branch() == "main"
+            objectName().tag() == "0.1.0"
+            objectName().depth() == 1
+            objectName().treeState() == CLEAN
+        }
+        sut.operationCount == 4
+    }
+
+    def "takes a snapshot scoped to a project directory"() {
+        given: "a project with a tagged commit"
+        git.init()
+        def directory = new File(repository, "sub")
+        directory.mkdir()
+        new File(directory, "README.md") << "# Sub"
+        git.add "sub/README.md"
+        git.commit "Initial commit"
+        git.tag "0.1.0"
+
+        and: "commits changing the project directory and other paths"
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Add readme"
+        new File(directory, "README.md") << "Changed"
+        git.add "sub/README.md"
+        git.commit "Change sub"
+        def changed = commit
+        new File(repository, "CHANGELOG.md") << "Initial release"
+        git.add "CHANGELOG.md"
+        git.commit "Add changelog"
+
+        when: "taking the project directory snapshot"
+        def actual = sut.snapshot(directory)
+
+        then: "takes the snapshot of the last commit changing the project directory"
+        with(actual) {
+            head().id() == changed.name()
+            branch() == "main"
+            objectName().tag() == "0.1.0"
+            objectName().depth() == 2
+            objectName().commitId() == changed.abbreviate(7).name()
+            objectName().treeState() == CLEAN
+        }
+        sut.snapshot().objectName().depth() == 3
+    }
+
+    def "takes the repository snapshot of a project directory without commits"() {
+        given: "a project with a commit"
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+
+        when: "taking the snapshot of a directory without commits"
+        def actual = sut.snapshot(new File(repository, "sub"))
+
+        then: "takes the repository snapshot"
+        actual == sut.snapshot()
+    }
+
+    def "takes an empty snapshot of a project that is not a repository"() {
+        given: "a project that is not a repository"
+
+        when: "taking the project snapshot"
+        def actual = sut.snapshot()
+
+        then: "takes an empty snapshot"
+        actual == GitSnapshot.EMPTY
+    }
+
+    def "rejects an unsupported git option"() {
+        given: "a project with an unsupported git option"
+        git.init()
+        dirtyCheckName = d
+        backendName = b
+
+        when: "taking the project snapshot"
+        sut.snapshot()
+
+        then: "throws an exception naming the option"
+        def e = thrown(IllegalArgumentException)
+        e.message == m
+
+        where:
+        d      | b        | m
+        "FAST" | null     | "Unsupported dirty check 'FAST'."
+        null   | "LIBGIT" | "Unsupported git backend 'LIBGIT'."
     }
 
     def "describes a project with a commit"() {
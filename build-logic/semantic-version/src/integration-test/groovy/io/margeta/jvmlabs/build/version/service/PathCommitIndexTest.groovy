@@ -0,0 +1,148 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.lib.Constants
+import org.eclipse.jgit.lib.ObjectId
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+
+@Subject(PathCommitIndex)
+@Title("path commit index")
+class PathCommitIndexTest extends JGitSpecification {
+    @TempDir
+    File indexDirectory
+
+    def "finds the last commit changing a path"() {
+        given: "a project with commits changing different paths"
+        git.init()
+        commits("sub/README.md", 2)
+        def expected = commit
+        commits("README.md", 3)
+
+        when: "finding the last commit changing the path"
+        def actual = lastCommit("sub")
+
+        then: "finds the last commit changing the path"
+        actual.orElseThrow() == expected.id
+    }
+
+    def "does not find a commit of a path that was never changed"() {
+        given: "a project with commits"
+        git.init()
+        commits("README.md", 2)
+
+        when: "finding the last commit changing the path"
+        def actual = lastCommit("sub")
+
+        then: "does not find a commit"
+        actual.empty
+    }
+
+    def "follows the first parent of a merge commit"() {
+        given: "a project with a merged branch changing a path"
+        git.init()
+        commits("README.md", 1)
+        git.checkout "feature", true
+        commits("sub/README.md", 2)
+        git.checkout "main"
+        commits("CHANGELOG.md", 1)
+        git.merge "feature"
+        def merge = commit
+        commits("CHANGELOG.md", 1)
+
+        when: "finding the last commit changing the path"
+        def actual = lastCommit("sub")
+
+        then: "finds the merge commit"
+        actual.orElseThrow() == merge.id
+    }
+
+    def "skips commits using the changed-path filters of the commit graph"() {
+        given: "a project with a commit graph with changed-path filters"
+        git.init()
+        commits("sub/README.md", 1)
+        def expected = commit
+        commits("README.md", 10)
+        writeCommitGraph()
+
+        when: "finding the last commit changing the path"
+        def sut = PathCommitIndex.load(indexDirectory)
+        def actual = lastCommit(sut, "sub")
+
+        then: "compares only the commits the changed-path filters cannot rule out"
+        actual.orElseThrow() == expected.id
+        sut.filtered == 10
+        sut.compared == 1
+    }
+
+    def "skips commits using the changed-path filters of a split commit graph"() {
+        given: "a project with a split commit graph with changed-path filters"
+        git.init()
+        commits("sub/README.md", 1)
+        def expected = commit
+        commits("README.md", 5)
+        writeCommitGraph("--split")
+        commits("README.md", 5)
+        writeCommitGraph("--split=no-merge")
+
+        when: "finding the last commit changing the path"
+        def sut = PathCommitIndex.load(indexDirectory)
+        def actual = lastCommit(sut, "sub")
+
+        then: "compares only the commits the changed-path filters of every layer cannot rule out"
+        actual.orElseThrow() == expected.id
+        sut.filtered == 10
+        sut.compared == 1
+    }
+
+    def "updates the index incrementally from an indexed head commit"() {
+        given: "a project with an indexed path"
+        git.init()
+        commits("sub/README.md", 1)
+        def expected = commit
+        commits("README.md", 10)
+        lastCommit("sub")
+
+        and: "new commits that do not change the path"
+        commits("CHANGELOG.md", 2)
+
+        when: "finding the last commit changing the path"
+        def sut = PathCommitIndex.load(indexDirectory)
+        def actual = lastCommit(sut, "sub")
+
+        then: "compares only the new commits"
+        actual.orElseThrow() == expected.id
+        sut.compared == 2
+    }
+
+    private void commits(String path, int count) {
+        count.times {
+            def file = new File(repository, path)
+            file.parentFile.mkdirs()
+            file << "$it\n"
+            git.add path
+            git.commit "Update $path"
+        }
+    }
+
+    private void writeCommitGraph(String... options) {
+        def command = ["git", "commit-graph", "write", "--reachable", "--changed-paths", *options]
+        def process = command.execute(null, repository)
+        process.waitForProcessOutput()
+        assert process.exitValue() == 0
+    }
+
+    private Optional<ObjectId> lastCommit(String path) {
+        lastCommit(PathCommitIndex.load(indexDirectory), path)
+    }
+
+    private Optional<ObjectId> lastCommit(PathCommitIndex sut, String path) {
+        new FileRepositoryBuilder().setWorkTree(repository).build().withCloseable {
+            def commit = sut.lastCommit(it, it.resolve(Constants.HEAD), path)
+            sut.store()
+            commit
+        }
+    }
+}
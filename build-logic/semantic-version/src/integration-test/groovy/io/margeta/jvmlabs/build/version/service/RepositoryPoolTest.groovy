@@ -0,0 +1,93 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.api.Git
+import org.eclipse.jgit.lib.Repository
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+import spock.util.concurrent.PollingConditions
+
+@Subject(RepositoryPool)
+@Title("repository pool")
+class RepositoryPoolTest extends JGitSpecification {
+    private RepositoryPool sut = new RepositoryPool(2)
+
+    @TempDir
+    File otherRepositories
+
+    void setup() {
+        git.init()
+        new File(repository, "README.md") << "# README"
+        git.add "README.md"
+        git.commit "Initial commit"
+    }
+
+    void cleanup() {
+        sut.clear()
+    }
+
+    def "reuses a pooled repository"() {
+        given: "a pooled repository"
+        def expected = acquire(repository)
+
+        when: "acquiring the repository again"
+        def actual = acquire(repository)
+
+        then: "reuses the pooled repository"
+        actual.is(expected)
+        sut.hits == 1
+        sut.misses == 1
+    }
+
+    def "keeps a pooled repository while only the index changes"() {
+        given: "a pooled repository"
+        def expected = acquire(repository)
+
+        when: "staging a file"
+        new File(repository, "CHANGELOG.md") << "Initial release"
+        git.add "CHANGELOG.md"
+        Thread.sleep(500L)
+
+        then: "reuses the pooled repository"
+        acquire(repository).is(expected)
+    }
+
+    def "invalidates a pooled repository when the refs change"() {
+        given: "a pooled repository"
+        def pooled = acquire(repository)
+
+        when: "committing a change"
+        new File(repository, "CHANGELOG.md") << "Initial release"
+        git.add "CHANGELOG.md"
+        git.commit "Add changelog"
+
+        then: "reopens the repository"
+        new PollingConditions(timeout: 30).eventually {
+            assert !acquire(repository).is(pooled)
+        }
+    }
+
+    def "evicts the least recently used repository"() {
+        given: "a pooled repository"
+        def pooled = acquire(repository)
+
+        when: "pooling more repositories than the pool holds"
+        (1..2).each {
+            def directory = new File(otherRepositories, "repository$it")
+            Git.init().setDirectory(directory).call().close()
+            acquire(directory)
+        }
+
+        then: "reopens the evicted repository"
+        !acquire(repository).is(pooled)
+        sut.misses == 4
+    }
+
+    private Repository acquire(File directory) {
+        def acquired = sut.acquire(directory, null) { new FileRepositoryBuilder().findGitDir(directory).build() }
+        acquired.close()
+        acquired
+    }
+}
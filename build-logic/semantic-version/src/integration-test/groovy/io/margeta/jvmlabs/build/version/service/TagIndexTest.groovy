@@ -0,0 +1,86 @@
+package io.margeta.jvmlabs.build.version.service
+
+import io.margeta.jvmlabs.build.version.JGitSpecification
+import org.eclipse.jgit.lib.ObjectId
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+
+@Subject(TagIndex)
+@Title("tag index")
+class TagIndexTest extends JGitSpecification {
+    @TempDir
+    File indexDirectory
+
+    def "maps the commits of the tags matching a pattern"() {
+        given: "a project with tagged commits"
+        git.init()
+        commits(1)
+        git.tag "1.0.0"
+        def expected = commit
+        commits(1)
+        git.tag "release"
+
+        when: "mapping the tagged commits"
+        def actual = tagged(TagIndex.load(indexDirectory), "[0-9]*")
+
+        then: "maps the peeled commits of the matching tags"
+        actual == [(expected.id): ["1.0.0"]]
+    }
+
+    def "reuses the index while the tags are unchanged"() {
+        given: "a project with an indexed tag"
+        git.init()
+        commits(1)
+        git.tag "1.0.0"
+        tagged(TagIndex.load(indexDirectory), "*")
+
+        when: "mapping the tagged commits again"
+        def sut = TagIndex.load(indexDirectory)
+        def actual = tagged(sut, "*")
+
+        then: "does not peel any tag"
+        actual == [(commit.id): ["1.0.0"]]
+        sut.peeled == 0
+    }
+
+    def "peels only the tags added since the index was written"() {
+        given: "a project with indexed tags"
+        git.init()
+        (1..10).each {
+            commits(1)
+            git.tag "1.$it.0"
+        }
+        tagged(TagIndex.load(indexDirectory), "*")
+
+        and: "a new tag"
+        commits(1)
+        git.tag "2.0.0"
+
+        when: "mapping the tagged commits"
+        def sut = TagIndex.load(indexDirectory)
+        def actual = tagged(sut, "*")
+
+        then: "peels only the new tag"
+        actual.size() == 11
+        actual[commit.id] == ["2.0.0"]
+        sut.peeled == 1
+    }
+
+    private void commits(int count) {
+        count.times {
+            new File(repository, "README.md") << "$it\n"
+            git.add "README.md"
+            git.commit "Update README.md"
+        }
+    }
+
+    private Map<ObjectId, List<String>> tagged(TagIndex sut, String pattern) {
+        new FileRepositoryBuilder().setWorkTree(repository).build().withCloseable {
+            def tagged = sut.tagged(it, pattern)
+            sut.store()
+            tagged
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.margeta.jvmlabs.build.version;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VersionIndexBenchmark {
+    @Param({"1000", "100000"})
+    public int versionCount;
+
+    private List<String> versions;
+    private VersionIndex index;
+    private VersionRange range;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(42);
+        versions = new ArrayList<>(versionCount);
+        for (var i = 0; i < versionCount; i++) {
+            versions.add("%d.%d.%d".formatted(2000 + random.nextInt(30), random.nextInt(13), random.nextInt(100)));
+        }
+        index = VersionIndex.parse(versions);
+        range = VersionRange.parse(">=2024.1.0 <2025.0.0");
+    }
+
+    @Benchmark
+    public SemanticVersion highestIndexed() {
+        return index.highest(range);
+    }
+
+    @Benchmark
+    public SemanticVersion highestLinear() {
+        SemanticVersion highest = null;
+        for (final var version : versions) {
+            final var parsed = SemanticVersion.parse(version);
+            if (range.contains(parsed) && (highest == null || parsed.compareTo(highest) > 0)) {
+                highest = parsed;
+            }
+        }
+        return highest;
+    }
+}
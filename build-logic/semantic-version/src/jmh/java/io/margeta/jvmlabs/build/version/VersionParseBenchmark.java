@@ -0,0 +1,73 @@
+package io.margeta.jvmlabs.build.version;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VersionParseBenchmark {
+    private static final Pattern semanticVersionPattern =
+            Pattern.compile("^(\\d{1,4})\\.(\\d{1,2})\\.(\\d{1,2})(?:-([0-9a-zA-Z-.]+)(?:\\+([0-9a-zA-Z-.]+))?)?$");
+    private static final Pattern metadataPattern =
+            Pattern.compile("^(\\d*)\\.([0-9a-fA-F]{7,40})(?:\\.(dirty))?$");
+
+    @Param({"1.2.3", "1.2.3-alpha01+42.1234567.dirty"})
+    public String version;
+
+    @Param({"42.1234567", "42.1234567.dirty"})
+    public String metadata;
+
+    private final SemanticVersion left = SemanticVersion.parse("1.0.0-beta.11");
+    private final SemanticVersion right = SemanticVersion.parse("1.0.0-beta.2");
+
+    @Benchmark
+    public SemanticVersion parseSemanticVersion() {
+        return SemanticVersion.parse(version);
+    }
+
+    @Benchmark
+    public void parseSemanticVersionRegex(Blackhole blackhole) {
+        final var matcher = semanticVersionPattern.matcher(version);
+        if (matcher.matches()) {
+            for (var group = 1; group <= matcher.groupCount(); group++) {
+                blackhole.consume(matcher.group(group));
+            }
+        }
+    }
+
+    @Benchmark
+    public Metadata parseMetadata() {
+        return Metadata.parse(metadata);
+    }
+
+    @Benchmark
+    public void parseMetadataRegex(Blackhole blackhole) {
+        final var matcher = metadataPattern.matcher(metadata);
+        if (matcher.matches()) {
+            blackhole.consume(Long.parseLong(matcher.group(1)));
+            blackhole.consume(matcher.group(2));
+            blackhole.consume(matcher.group(3));
+        }
+    }
+
+    @Benchmark
+    public int compareSemanticVersions() {
+        return left.compareTo(right);
+    }
+}
@@ -0,0 +1,63 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DirtyCheckBenchmark {
+    @Param({"1000", "200000"})
+    public int fileCount;
+
+    @Param({"false", "true"})
+    public boolean dirty;
+
+    private SyntheticRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        repository = SyntheticRepository.make(fileCount);
+        if (dirty) {
+            repository.modify(fileCount - 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Benchmark
+    public boolean status() throws Exception {
+        return DirtyCheck.STATUS.isDirty(repository.getRepository());
+    }
+
+    @Benchmark
+    public boolean index() throws Exception {
+        return DirtyCheck.INDEX.isDirty(repository.getRepository());
+    }
+
+    @Benchmark
+    public boolean cli() throws Exception {
+        try (final var operations = GitBackend.CLI.open(repository.getRepository(), DirtyCheck.INDEX, null)) {
+            return operations.isDirty();
+        }
+    }
+}
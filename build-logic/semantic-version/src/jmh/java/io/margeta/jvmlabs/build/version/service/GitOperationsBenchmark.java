@@ -0,0 +1,73 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GitOperationsBenchmark {
+    private static final int FILE_COUNT = 1000;
+
+    @Param({"1000", "100000"})
+    public int commitCount;
+
+    @Param({"10", "50000"})
+    public int tagCount;
+
+    @Param({"JGIT", "CLI"})
+    public GitBackend backend;
+
+    private SyntheticRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        repository = SyntheticRepository.make(FILE_COUNT, commitCount, tagCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Benchmark
+    public String describe() throws Exception {
+        try (final var operations = open()) {
+            return operations.describe("*");
+        }
+    }
+
+    @Benchmark
+    public long commitDepth() throws Exception {
+        try (final var operations = open()) {
+            return operations.commitDepth();
+        }
+    }
+
+    @Benchmark
+    public GitService.Commit head() throws Exception {
+        try (final var operations = open()) {
+            return operations.head();
+        }
+    }
+
+    private GitOperations open() {
+        return backend.open(repository.getRepository(), DirtyCheck.INDEX, null);
+    }
+}
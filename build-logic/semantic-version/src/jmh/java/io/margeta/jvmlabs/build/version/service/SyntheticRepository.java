@@ -0,0 +1,114 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.internal.storage.file.ObjectDirectory;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.ReceiveCommand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class SyntheticRepository implements AutoCloseable {
+    private static final int FILES_PER_DIRECTORY = 100;
+
+    private final Path directory;
+    private final Git git;
+
+    private SyntheticRepository(Path directory, Git git) {
+        this.directory = directory;
+        this.git = git;
+    }
+
+    static SyntheticRepository make(int fileCount) throws Exception {
+        return make(fileCount, 1, 0);
+    }
+
+    static SyntheticRepository make(int fileCount, int commitCount, int tagCount) throws Exception {
+        final var directory = Files.createTempDirectory("synthetic-repository");
+        final var git = Git.init().setDirectory(directory.toFile()).setInitialBranch("main").call();
+        for (var i = 0; i < fileCount; i++) {
+            final var file = file(directory, i);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "file %d%n".formatted(i), StandardCharsets.UTF_8);
+        }
+        git.add().addFilepattern(".").call();
+        final var initialCommit = git.commit().setMessage("Initial commit").setSign(false).call();
+        final var commits = commit(git.getRepository(), initialCommit, commitCount - 1);
+        tag(git.getRepository(), commits, tagCount);
+        return new SyntheticRepository(directory, git);
+    }
+
+    private static List<ObjectId> commit(Repository repository, RevCommit parent, int commitCount)
+            throws IOException {
+        final var commits = new ArrayList<ObjectId>(commitCount + 1);
+        commits.add(parent.copy());
+        final var person = parent.getAuthorIdent();
+        try (final var inserter = ((ObjectDirectory) repository.getObjectDatabase()).newPackInserter()) {
+            for (var i = 0; i < commitCount; i++) {
+                final var commit = new CommitBuilder();
+                commit.setTreeId(parent.getTree());
+                commit.setParentId(commits.getLast());
+                commit.setAuthor(person);
+                commit.setCommitter(person);
+                commit.setMessage("Commit %d%n".formatted(i + 1));
+                commits.add(inserter.insert(commit));
+            }
+            inserter.flush();
+        }
+        final var update = repository.updateRef(Constants.HEAD);
+        update.setNewObjectId(commits.getLast());
+        update.setForceUpdate(true);
+        update.update();
+        return commits;
+    }
+
+    private static void tag(Repository repository, List<ObjectId> commits, int tagCount) throws IOException {
+        if (tagCount == 0) {
+            return;
+        }
+        final var update = repository.getRefDatabase().newBatchUpdate().setAtomic(true);
+        for (var i = 0; i < tagCount; i++) {
+            final var commit = commits.get((int) ((long) i * commits.size() / tagCount));
+            update.addCommand(new ReceiveCommand(ObjectId.zeroId(), commit, Constants.R_TAGS + "1.0.%d".formatted(i)));
+        }
+        try (final var revWalk = new RevWalk(repository)) {
+            update.execute(revWalk, NullProgressMonitor.INSTANCE);
+        }
+    }
+
+    private static Path file(Path directory, int index) {
+        return directory
+                .resolve("dir%04d".formatted(index / FILES_PER_DIRECTORY))
+                .resolve("file%02d.txt".formatted(index % FILES_PER_DIRECTORY));
+    }
+
+    Repository getRepository() {
+        return git.getRepository();
+    }
+
+    void modify(int index) throws IOException {
+        Files.writeString(file(directory, index), "modified file %d%n".formatted(index), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        git.getRepository().close();
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VersionInfoFormatterBenchmark {
+    @Param({"TOML", "YAML", "HOCON", "JSON", "BINARY"})
+    public String formatter;
+
+    private VersionInfoFormatter versionInfoFormatter;
+    private VersionInfo versionInfo;
+
+    @Setup
+    public void setUp() {
+        versionInfoFormatter = VersionInfoFormatter.valueOf(formatter);
+        versionInfo = new VersionInfoBuilder()
+                .version("1.2.3-SNAPSHOT+42.1234567")
+                .branch("main")
+                .commitId("1234567890abcdef1234567890abcdef12345678")
+                .commitIdAbbrev("1234567")
+                .commitMessage("Add changelog")
+                .commitTime(OffsetDateTime.of(2023, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC))
+                .commitUserName("First Last")
+                .commitUserEmail("first_last@domain.com")
+                .buildNumber(42L)
+                .dirty(false)
+                .host("localhost")
+                .build();
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return versionInfoFormatter.encode(versionInfo);
+    }
+}
@@ -4,12 +4,14 @@ import org.gradle.api.Transformer;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.specs.Spec;
 
+import javax.annotation.Nullable;
 import java.util.function.BiFunction;
 
 import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
 
 final class ExtendedVersionStringProvider implements Provider<SemanticVersion> {
     private final Provider<SemanticVersion> wrapped;
+    private volatile @Nullable Formatted formatted;
 
     private ExtendedVersionStringProvider(Provider<SemanticVersion> wrapped) {
         this.wrapped = wrapped;
@@ -73,6 +75,17 @@ final class ExtendedVersionStringProvider implements Provider<SemanticVersion> {
     @Override
     public String toString() {
         final var value = wrapped.getOrNull();
-        return value != null ? value.toExtendedString() : "unspecified";
+        if (value == null) {
+            return "unspecified";
+        }
+        final var current = formatted;
+        if (current != null && current.version() == value) {
+            return current.string();
+        }
+        final var string = value.toExtendedString();
+        formatted = new Formatted(value, string);
+        return string;
     }
+
+    private record Formatted(SemanticVersion version, String string) {}
 }
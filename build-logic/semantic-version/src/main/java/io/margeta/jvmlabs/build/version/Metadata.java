@@ -5,19 +5,18 @@ import io.margeta.jvmlabs.build.version.service.TreeState;
 import javax.annotation.Nullable;
 import java.util.Objects;
 import java.util.StringJoiner;
-import java.util.regex.Pattern;
 
 import static io.margeta.jvmlabs.build.version.Preconditions.checkArgument;
-import static io.margeta.jvmlabs.build.version.Preconditions.checkMatches;
 import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
 import static io.margeta.jvmlabs.build.version.Strings.isNotBlank;
 
 final class Metadata {
     private static final String DIRTY_TREE_VALUE = "dirty";
     private static final String MUST_BE_GTE_ZERO = "must be greater than or equal to zero";
-    private static final Pattern commitIdPattern = Pattern.compile("[0-9a-fA-F]{7,40}");
-    private static final Pattern parsePattern =
-            Pattern.compile("^(\\d*)\\.(" + commitIdPattern.pattern() + ")(?:\\.(" + DIRTY_TREE_VALUE + "))?$");
+    private static final String NOT_A_VALID_METADATA = "Illegal argument, not a valid  metadata representation.";
+    private static final int MIN_COMMIT_ID_LENGTH = 7;
+    private static final int MAX_COMMIT_ID_LENGTH = 40;
+    private static final String MUST_BE_COMMIT_ID = "does not match the pattern '[0-9a-fA-F]{7,40}'";
 
     private final @Nullable Long buildNumber;
     private final @Nullable String commitId;
@@ -32,26 +31,59 @@ final class Metadata {
     public static Metadata make(@Nullable Long buildNumber, @Nullable String commitId, TreeState treeState) {
         checkArgument(buildNumber == null || buildNumber >= 0, MUST_BE_GTE_ZERO);
         if (commitId != null) {
-            checkMatches(commitIdPattern, commitId);
+            checkArgument(isCommitId(commitId, 0, commitId.length()), MUST_BE_COMMIT_ID);
         }
         return new Metadata(buildNumber, commitId != null ? commitId.toLowerCase() : null, treeState);
     }
 
     public static Metadata parse(String input) {
         checkNotNull(input, "input");
-        final var matcher = parsePattern.matcher(input);
-        if (!matcher.matches()) {
-            throw new IllegalArgumentException("Illegal argument, not a valid  metadata representation.");
+        final var buildNumberEnd = input.indexOf('.');
+        if (buildNumberEnd <= 0 || !isDigits(input, 0, buildNumberEnd)) {
+            throw new IllegalArgumentException(NOT_A_VALID_METADATA);
+        }
+        final var commitIdStart = buildNumberEnd + 1;
+        final var separator = input.indexOf('.', commitIdStart);
+        final var commitIdEnd = separator != -1 ? separator : input.length();
+        if (!isCommitId(input, commitIdStart, commitIdEnd)) {
+            throw new IllegalArgumentException(NOT_A_VALID_METADATA);
+        }
+        final var dirty = commitIdEnd < input.length();
+        if (dirty && !(input.length() - commitIdEnd - 1 == DIRTY_TREE_VALUE.length()
+                && input.startsWith(DIRTY_TREE_VALUE, commitIdEnd + 1))) {
+            throw new IllegalArgumentException(NOT_A_VALID_METADATA);
         }
         try {
-            final var buildNumber = Long.parseLong(matcher.group(1));
-            final var commitId = matcher.group(2);
-            final var buildType = matcher.group(3);
-            return Metadata.make(
-                    buildNumber, commitId, DIRTY_TREE_VALUE.equals(buildType) ? TreeState.DIRTY : TreeState.CLEAN);
+            final var buildNumber = Long.parseLong(input, 0, buildNumberEnd, 10);
+            final var commitId = input.substring(commitIdStart, commitIdEnd);
+            return Metadata.make(buildNumber, commitId, dirty ? TreeState.DIRTY : TreeState.CLEAN);
         } catch (NumberFormatException ignored) {
-            throw new IllegalArgumentException("Illegal argument, not a valid  metadata representation.");
+            throw new IllegalArgumentException(NOT_A_VALID_METADATA);
+        }
+    }
+
+    private static boolean isDigits(String input, int start, int end) {
+        for (var i = start; i < end; i++) {
+            final var c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCommitId(String input, int start, int end) {
+        final var length = end - start;
+        if (length < MIN_COMMIT_ID_LENGTH || length > MAX_COMMIT_ID_LENGTH) {
+            return false;
+        }
+        for (var i = start; i < end; i++) {
+            final var c = input.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F')) {
+                return false;
+            }
         }
+        return true;
     }
 
     @Nullable
@@ -0,0 +1,312 @@
+package io.margeta.jvmlabs.build.version;
+
+import io.margeta.jvmlabs.build.version.service.GitService;
+import io.margeta.jvmlabs.build.version.service.GitSnapshot;
+import io.margeta.jvmlabs.build.version.service.GitSnapshotValueSource;
+import io.margeta.jvmlabs.build.version.service.TimingService;
+import io.margeta.jvmlabs.build.version.service.TreeState;
+import io.margeta.jvmlabs.build.version.task.AbstractVersionInfoTask;
+import io.margeta.jvmlabs.build.version.task.ChangelogFormatter;
+import io.margeta.jvmlabs.build.version.task.ChangelogTask;
+import io.margeta.jvmlabs.build.version.task.HostNameValueSource;
+import io.margeta.jvmlabs.build.version.task.VersionInfoSourceTask;
+import io.margeta.jvmlabs.build.version.task.VersionInfoTask;
+import org.gradle.api.IsolatedAction;
+import org.gradle.api.Project;
+import org.gradle.api.Transformer;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.services.BuildServiceRegistry;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.util.Path;
+
+import javax.annotation.Nullable;
+import javax.lang.model.SourceVersion;
+import java.io.File;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+final class ProjectConfigurer implements IsolatedAction<Project> {
+    static final String VERSION_INFO_CATEGORY = "version-info";
+    static final String VERSION_INFO_ELEMENTS = "versionInfoElements";
+
+    private static final GitService.ObjectName emptyObjectName =
+            new GitService.ObjectName(null, null, null, TreeState.DIRTY);
+    private static final Transformer<String, GitSnapshot> snapshotToMetadata = it -> {
+        final var objectName = it.objectName() != null ? it.objectName() : emptyObjectName;
+        return Metadata.make(objectName.depth(), objectName.commitId(), objectName.treeState())
+                .toString();
+    };
+
+    private final SemanticVersionExtension extension;
+    private final File rootDirectory;
+    private final Provider<File> cacheDirectory;
+    private final boolean sharedVersionInfo;
+
+    private ProjectConfigurer(
+            SemanticVersionExtension extension,
+            File rootDirectory,
+            Provider<File> cacheDirectory,
+            boolean sharedVersionInfo) {
+        this.extension = extension;
+        this.rootDirectory = rootDirectory;
+        this.cacheDirectory = cacheDirectory;
+        this.sharedVersionInfo = sharedVersionInfo;
+    }
+
+    static ProjectConfigurer make(
+            SemanticVersionExtension extension,
+            File rootDirectory,
+            Provider<File> cacheDirectory,
+            boolean sharedVersionInfo) {
+        checkNotNull(extension, "extension");
+        checkNotNull(rootDirectory, "rootDirectory");
+        checkNotNull(cacheDirectory, "cacheDirectory");
+        return new ProjectConfigurer(extension, rootDirectory, cacheDirectory, sharedVersionInfo);
+    }
+
+    static void configureConventions(SemanticVersionExtension extension) {
+        extension.getMajor().convention(0);
+        extension.getMinor().convention(1);
+        extension.getPatch().convention(0);
+        extension.getPreRelease().convention("SNAPSHOT");
+        extension.getDirtyCheck().convention("INDEX");
+        extension.getBackend().convention("JGIT");
+        extension.getPathScoped().convention(false);
+        extension.getGitTimeout().convention(Duration.ofSeconds(30L));
+        extension.getRepositoryPool().convention(false);
+        extension.getModules().convention(false);
+        extension.getVersionInfo().getFileName().convention("version.toml");
+        extension.getVersionInfo().getFormatter().convention("TOML");
+        extension.getVersionInfo().getReproducible().convention(false);
+        extension.getVersionInfo().getHostLookupTimeout().convention(Duration.ofSeconds(2L));
+        extension.getVersionInfo().getSource().getEnabled().convention(false);
+        extension.getVersionInfo().getSource().getLanguage().convention("JAVA");
+        extension.getVersionInfo().getSource().getClassName().convention("VersionInfo");
+        extension.getChangelog().getReleases().convention(10);
+        extension.getChangelog().getFormatter().convention("MARKDOWN");
+        extension.getChangelog().getConventionalCommits().convention(false);
+    }
+
+    static Provider<TimingService> registerTimingService(
+            BuildServiceRegistry sharedServices, Provider<File> reportFile) {
+        return sharedServices.registerIfAbsent("timingService", TimingService.class, it -> it
+                .getParameters()
+                .getReportFile()
+                .set(reportFile));
+    }
+
+    private Providers makeProviders(ProviderFactory providerFactory, BuildServiceRegistry sharedServices) {
+        final var gitService = sharedServices.registerIfAbsent("gitService", GitService.class, it -> {
+            it.getParameters().getProjectDirectory().set(rootDirectory);
+            it.getParameters().getCacheDirectory().set(cacheDirectory);
+            it.getParameters().getDirtyCheck().set(extension.getDirtyCheck());
+            it.getParameters().getBackend().set(extension.getBackend());
+            it.getParameters().getTagPattern().set(extension.getTagPattern().orElse("*"));
+            it.getParameters().getTimeout().set(extension.getGitTimeout());
+            it.getParameters().getRepositoryPool().set(extension.getRepositoryPool());
+            it.getParameters().getModules().set(extension.getModules());
+            it.getParameters().getSnapshot().set(providerFactory.of(GitSnapshotValueSource.class, source -> {
+                source.getParameters().getProjectDirectory().set(rootDirectory);
+                source.getParameters().getCacheDirectory().set(cacheDirectory);
+                source.getParameters().getDirtyCheck().set(extension.getDirtyCheck());
+                source.getParameters().getBackend().set(extension.getBackend());
+                source.getParameters().getTagPattern().set(extension.getTagPattern().orElse("*"));
+                source.getParameters().getTimeout().set(extension.getGitTimeout());
+                source.getParameters().getRepositoryPool().set(extension.getRepositoryPool());
+                source.getParameters().getModules().set(extension.getModules());
+            }));
+        });
+        final var snapshot = gitService.map(GitService::snapshot);
+        final var hostName = providerFactory.of(HostNameValueSource.class, it -> it.getParameters()
+                .getTimeout()
+                .set(extension.getVersionInfo().getHostLookupTimeout()));
+        final var reproducibleHostName = extension
+                .getVersionInfo()
+                .getReproducible()
+                .flatMap(it -> it ? providerFactory.provider(() -> null) : hostName);
+        return new Providers(
+                gitService, snapshot, makeVersion(providerFactory, snapshot), reproducibleHostName);
+    }
+
+    private Provider<SemanticVersion> makeVersion(ProviderFactory providerFactory, Provider<GitSnapshot> snapshot) {
+        final var metadata = snapshot.map(snapshotToMetadata);
+        return new SemanticVersionProviderBuilder(providerFactory)
+                .major(extension::getMajor)
+                .minor(extension::getMinor)
+                .patch(extension::getPatch)
+                .preRelease(extension::getPreRelease)
+                .metadata(() -> extension.getMetadata().orElse(metadata))
+                .date(extension::getDate)
+                .majorFormat(extension::getMajorFormat)
+                .minorFormat(extension::getMinorFormat)
+                .patchFormat(extension::getPatchFormat)
+                .build();
+    }
+
+    private Providers scope(Project project, Providers providers) {
+        final var directory = project.getProjectDir();
+        final var snapshot = providers.gitService().map(it -> it.snapshot(directory));
+        final var version = makeVersion(project.getProviders(), snapshot);
+        final var pathScoped = extension.getPathScoped();
+        return new Providers(
+                providers.gitService(),
+                pathScoped.flatMap(it -> it ? snapshot : providers.snapshot()),
+                pathScoped.flatMap(it -> it ? version : providers.version()),
+                providers.hostName());
+    }
+
+    @Override
+    public void execute(Project project) {
+        final var providers = scope(
+                project, makeProviders(project.getProviders(), project.getGradle().getSharedServices()));
+        project.setVersion(ExtendedVersionStringProvider.wrap(providers.version()));
+        final var shared = sharedVersionInfo && !extension.getPathScoped().get();
+        final var versionInfo = !shared || project.getParent() == null ? registerVersionInfo(project, providers) : null;
+        if (shared && versionInfo != null) {
+            project.getConfigurations().consumable(VERSION_INFO_ELEMENTS, it -> {
+                it.attributes(attributes -> attributes.attribute(
+                        Category.CATEGORY_ATTRIBUTE,
+                        project.getObjects().named(Category.class, VERSION_INFO_CATEGORY)));
+                it.getOutgoing().artifact(versionInfo.flatMap(VersionInfoTask::getOutputDirectory));
+            });
+        }
+        if (project.getParent() == null) {
+            registerChangelog(project, providers);
+        }
+        project.getPluginManager().withPlugin("java", plugin -> configureSourceSet(project, providers, versionInfo));
+    }
+
+    private void registerChangelog(Project project, Providers providers) {
+        final var changelog = extension.getChangelog();
+        project.getTasks().register("changelog", ChangelogTask.class, task -> {
+            task.setGroup("Semantic Version");
+            task.setDescription("Writes the commits of the latest releases to a changelog file.");
+            task.usesService(providers.gitService());
+            task.getGitService().set(providers.gitService());
+            task.getTagPattern().set(extension.getTagPattern().orElse("*"));
+            task.getReleases().set(changelog.getReleases());
+            task.getFormatter().set(changelog.getFormatter());
+            task.getConventionalCommits().set(changelog.getConventionalCommits());
+            task.getOutputFile().set(project.getLayout().getBuildDirectory().file(changelog.getFormatter()
+                    .map(it -> "changelog/" + ChangelogFormatter.valueOf(it).getFileName())));
+        });
+    }
+
+    private TaskProvider<VersionInfoTask> registerVersionInfo(Project project, Providers providers) {
+        return project.getTasks().register("versionInfo", VersionInfoTask.class, task -> {
+            task.setGroup("Semantic Version");
+            task.setDescription("Adds version information to resources source set.");
+            configureVersionInfoInputs(task, providers);
+            task.getFormatter().set(extension.getVersionInfo().getFormatter());
+            task.getFileName()
+                    .set(extension.getVersionInfo().getFileName().map(name -> Path.path(name).getName()));
+            task.getOutputDirectory()
+                    .set(project.getLayout().getBuildDirectory().dir("generated/resources/versionInfo"));
+        });
+    }
+
+    private void configureSourceSet(
+            Project project, Providers providers, @Nullable TaskProvider<VersionInfoTask> versionInfo) {
+        final var source = extension.getVersionInfo().getSource();
+        final var versionInfoSource = project.getTasks()
+                .register("versionInfoSource", VersionInfoSourceTask.class, task -> {
+                    final var group = project.getGroup().toString();
+                    task.setGroup("Semantic Version");
+                    task.setDescription("Adds version information constants to java source set.");
+                    configureVersionInfoInputs(task, providers);
+                    task.getLanguage().set(source.getLanguage());
+                    task.getPackageName().set(source.getPackageName().orElse(packageName(group)));
+                    task.getClassName().set(source.getClassName());
+                    task.getOutputDirectory().set(project.getLayout()
+                            .getBuildDirectory()
+                            .dir("generated/sources/versionInfo/java/main"));
+                });
+        final var versionInfoDirectory = versionInfo != null
+                ? versionInfo.flatMap(VersionInfoTask::getOutputDirectory)
+                : sharedVersionInfo(project);
+        project.getExtensions()
+                .getByType(SourceSetContainer.class)
+                .named(SourceSet.MAIN_SOURCE_SET_NAME, sourceSet -> {
+                    sourceSet.getResources().srcDir(versionInfoDirectory);
+                    sourceSet.getJava().srcDir(source.getEnabled().<Object>flatMap(enabled -> enabled
+                            ? versionInfoSource.flatMap(VersionInfoSourceTask::getOutputDirectory)
+                            : project.getProviders().provider(List::of)));
+                });
+    }
+
+    private static String packageName(String group) {
+        final var packageName = new StringJoiner(".");
+        for (final var name : group.split("\\.")) {
+            if (name.isEmpty()) {
+                continue;
+            }
+            final var identifier = new StringBuilder(name.length() + 1);
+            name.codePoints().forEach(it -> identifier.appendCodePoint(Character.isJavaIdentifierPart(it) ? it : '_'));
+            if (!Character.isJavaIdentifierStart(identifier.codePointAt(0)) || SourceVersion.isKeyword(identifier)) {
+                identifier.insert(0, '_');
+            }
+            packageName.add(identifier);
+        }
+        return packageName.toString();
+    }
+
+    private static Object sharedVersionInfo(Project project) {
+        final var dependencies = project.getConfigurations().dependencyScope("versionInfo", it -> it
+                .getDependencies()
+                .add(project.getDependencies().project(Map.of("path", ":"))));
+        return project.getConfigurations().resolvable("versionInfoClasspath", it -> {
+            it.extendsFrom(dependencies.get());
+            it.attributes(attributes -> attributes.attribute(
+                    Category.CATEGORY_ATTRIBUTE, project.getObjects().named(Category.class, VERSION_INFO_CATEGORY)));
+        }).get();
+    }
+
+    private static void configureVersionInfoInputs(AbstractVersionInfoTask task, Providers providers) {
+        task.usesService(providers.gitService());
+        task.getProjectVersion().set(providers.version().map(SemanticVersion::toExtendedString));
+        configureSnapshotInputs(task, providers.snapshot(), providers.hostName());
+    }
+
+    private static void configureSnapshotInputs(
+            AbstractVersionInfoTask task, Provider<GitSnapshot> snapshot, Provider<String> hostName) {
+        final var head = snapshot.map(GitSnapshot::head);
+        final var objectName = snapshot.map(GitSnapshot::objectName);
+        task.getBranch().set(snapshot.map(GitSnapshot::branch));
+        task.getCommitId().set(head.map(GitService.Commit::id));
+        task.getCommitIdAbbrev().set(head.map(GitService.Commit::idAbbrev));
+        task.getCommitMessage().set(head.map(GitService.Commit::message));
+        task.getCommitTime().set(head.map(GitService.Commit::time));
+        task.getCommitUserName().set(head.map(GitService.Commit::userName));
+        task.getCommitUserEmail().set(head.map(GitService.Commit::userEmail));
+        task.getBuildNumber().set(objectName.map(GitService.ObjectName::depth));
+        task.getDirty().set(objectName.map(it -> it.treeState() == TreeState.DIRTY));
+        task.getHost().set(objectName.flatMap(it -> hostName));
+        task.getSubmodules().set(snapshot.map(it -> modules(it, GitService.Module.Kind.SUBMODULE)));
+        task.getWorktrees().set(snapshot.map(it -> modules(it, GitService.Module.Kind.WORKTREE)));
+    }
+
+    private static Map<String, String> modules(GitSnapshot snapshot, GitService.Module.Kind kind) {
+        final var modules = new LinkedHashMap<String, String>();
+        for (final var module : snapshot.modules()) {
+            if (module.kind() == kind && module.objectName() != null) {
+                modules.put(module.path(), module.objectName().format());
+            }
+        }
+        return modules;
+    }
+
+    private record Providers(
+            Provider<GitService> gitService,
+            Provider<GitSnapshot> snapshot,
+            Provider<SemanticVersion> version,
+            Provider<String> hostName) {}
+}
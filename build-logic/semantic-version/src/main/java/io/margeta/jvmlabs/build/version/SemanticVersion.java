@@ -2,20 +2,29 @@ package io.margeta.jvmlabs.build.version;
 
 import javax.annotation.Nullable;
 import java.util.Objects;
-import java.util.regex.Pattern;
 
+import static io.margeta.jvmlabs.build.version.Preconditions.checkArgument;
 import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
 import static io.margeta.jvmlabs.build.version.Strings.isNotBlank;
 
-public final class SemanticVersion {
-    private static final Pattern parsePattern =
-            Pattern.compile("^(\\d{1,4})\\.(\\d{1,2})\\.(\\d{1,2})(?:-([0-9a-zA-Z-.]+)(?:\\+([0-9a-zA-Z-.]+))?)?$");
+public final class SemanticVersion implements Comparable<SemanticVersion> {
+    public static final int MAX_NUMERIC_PART = (1 << 21) - 1;
+
+    private static final String MUST_BE_IN_NUMERIC_PART_RANGE =
+            "must be between 0 and %d".formatted(MAX_NUMERIC_PART);
+    private static final String NOT_A_VALID_SEMANTIC_VERSION =
+            "Illegal argument, not a valid semantic version representation.";
+    private static final int MAX_MAJOR_DIGITS = 4;
+    private static final int MAX_MINOR_DIGITS = 2;
+    private static final int MAX_PATCH_DIGITS = 2;
+    private static final int INVALID = -1;
 
     private final String major;
     private final String minor;
     private final String patch;
     private final @Nullable String preRelease;
     private final @Nullable String metadata;
+    private final long numericKey;
 
     SemanticVersion(String major, String minor, String patch, @Nullable String preRelease, @Nullable String metadata) {
         this.major = major;
@@ -23,6 +32,7 @@ public final class SemanticVersion {
         this.patch = patch;
         this.preRelease = preRelease;
         this.metadata = metadata;
+        this.numericKey = numericKey(parseNumericPart(major), parseNumericPart(minor), parseNumericPart(patch));
     }
 
     public static SemanticVersionBuilder makeBuilder() {
@@ -31,12 +41,73 @@ public final class SemanticVersion {
 
     public static SemanticVersion parse(String input) {
         checkNotNull(input, "input");
-        final var matcher = parsePattern.matcher(input);
-        if (!matcher.matches()) {
-            throw new IllegalArgumentException("Illegal argument, not a valid semantic version representation.");
+        final var majorEnd = skipDigits(input, 0, MAX_MAJOR_DIGITS);
+        final var minorStart = skip(input, majorEnd, '.');
+        final var minorEnd = skipDigits(input, minorStart, MAX_MINOR_DIGITS);
+        final var patchStart = skip(input, minorEnd, '.');
+        final var patchEnd = skipDigits(input, patchStart, MAX_PATCH_DIGITS);
+        final var preReleaseStart = skip(input, patchEnd, '-');
+        final var preReleaseEnd = preReleaseStart != INVALID ? skipIdentifiers(input, preReleaseStart) : patchEnd;
+        final var metadataStart = skip(input, preReleaseEnd, '+');
+        final var metadataEnd = metadataStart != INVALID ? skipIdentifiers(input, metadataStart) : preReleaseEnd;
+        if (patchEnd == INVALID || metadataEnd != input.length()) {
+            throw new IllegalArgumentException(NOT_A_VALID_SEMANTIC_VERSION);
         }
         return new SemanticVersion(
-                matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4), matcher.group(5));
+                input.substring(0, majorEnd),
+                input.substring(minorStart, minorEnd),
+                input.substring(patchStart, patchEnd),
+                preReleaseStart != INVALID ? input.substring(preReleaseStart, preReleaseEnd) : null,
+                metadataStart != INVALID ? input.substring(metadataStart, metadataEnd) : null);
+    }
+
+    private static int skip(String input, int index, char separator) {
+        return index != INVALID && index < input.length() && input.charAt(index) == separator ? index + 1 : INVALID;
+    }
+
+    private static int skipDigits(String input, int index, int maxDigits) {
+        if (index == INVALID) {
+            return INVALID;
+        }
+        var end = index;
+        while (end < input.length() && end - index < maxDigits && isDigit(input.charAt(end))) {
+            end++;
+        }
+        return end > index ? end : INVALID;
+    }
+
+    private static int skipIdentifiers(String input, int index) {
+        var end = index;
+        while (end < input.length() && isIdentifierChar(input.charAt(end))) {
+            end++;
+        }
+        return end > index ? end : INVALID;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-' || c == '.';
+    }
+
+    private static int parseNumericPart(String part) {
+        var value = 0;
+        for (var i = 0; i < part.length(); i++) {
+            final var c = part.charAt(i);
+            checkArgument(isDigit(c), "must be a number");
+            value = value * 10 + (c - '0');
+            checkArgument(value <= MAX_NUMERIC_PART, MUST_BE_IN_NUMERIC_PART_RANGE);
+        }
+        return value;
+    }
+
+    public static long numericKey(int major, int minor, int patch) {
+        checkArgument(major >= 0 && major <= MAX_NUMERIC_PART, MUST_BE_IN_NUMERIC_PART_RANGE);
+        checkArgument(minor >= 0 && minor <= MAX_NUMERIC_PART, MUST_BE_IN_NUMERIC_PART_RANGE);
+        checkArgument(patch >= 0 && patch <= MAX_NUMERIC_PART, MUST_BE_IN_NUMERIC_PART_RANGE);
+        return (long) major << 42 | (long) minor << 21 | patch;
     }
 
     public String getMajor() {
@@ -61,6 +132,89 @@ public final class SemanticVersion {
         return metadata;
     }
 
+    public long getNumericKey() {
+        return numericKey;
+    }
+
+    @Override
+    public int compareTo(SemanticVersion other) {
+        checkNotNull(other, "other");
+        final var result = Long.compare(numericKey, other.numericKey);
+        return result != 0 ? result : comparePreReleases(preRelease, other.preRelease);
+    }
+
+    private static int comparePreReleases(@Nullable String left, @Nullable String right) {
+        if (!isNotBlank(left) || !isNotBlank(right)) {
+            return Boolean.compare(!isNotBlank(left), !isNotBlank(right));
+        }
+        var leftStart = 0;
+        var rightStart = 0;
+        while (true) {
+            final var leftEnd = identifierEnd(left, leftStart);
+            final var rightEnd = identifierEnd(right, rightStart);
+            final var result = compareIdentifiers(left, leftStart, leftEnd, right, rightStart, rightEnd);
+            if (result != 0) {
+                return result;
+            }
+            final var leftHasNext = leftEnd < left.length();
+            final var rightHasNext = rightEnd < right.length();
+            if (!leftHasNext || !rightHasNext) {
+                return Boolean.compare(leftHasNext, rightHasNext);
+            }
+            leftStart = leftEnd + 1;
+            rightStart = rightEnd + 1;
+        }
+    }
+
+    private static int identifierEnd(String preRelease, int start) {
+        final var end = preRelease.indexOf('.', start);
+        return end != INVALID ? end : preRelease.length();
+    }
+
+    private static int compareIdentifiers(
+            String left, int leftStart, int leftEnd, String right, int rightStart, int rightEnd) {
+        final var leftNumeric = isNumeric(left, leftStart, leftEnd);
+        final var rightNumeric = isNumeric(right, rightStart, rightEnd);
+        if (leftNumeric != rightNumeric) {
+            return leftNumeric ? -1 : 1;
+        }
+        if (leftNumeric) {
+            leftStart = skipLeadingZeros(left, leftStart, leftEnd);
+            rightStart = skipLeadingZeros(right, rightStart, rightEnd);
+            final var result = Integer.compare(leftEnd - leftStart, rightEnd - rightStart);
+            if (result != 0) {
+                return result;
+            }
+        }
+        final var length = Math.min(leftEnd - leftStart, rightEnd - rightStart);
+        for (var i = 0; i < length; i++) {
+            final var result = Character.compare(left.charAt(leftStart + i), right.charAt(rightStart + i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(leftEnd - leftStart, rightEnd - rightStart);
+    }
+
+    private static boolean isNumeric(String input, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (var i = start; i < end; i++) {
+            if (!isDigit(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipLeadingZeros(String input, int start, int end) {
+        while (start < end - 1 && input.charAt(start) == '0') {
+            start++;
+        }
+        return start;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) return true;
@@ -4,6 +4,7 @@ import org.gradle.api.Action;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Nested;
 
+import java.time.Duration;
 import java.time.LocalDate;
 
 public interface SemanticVersionExtension {
@@ -27,6 +28,18 @@ public interface SemanticVersionExtension {
 
     Property<String> getTagPattern();
 
+    Property<String> getDirtyCheck();
+
+    Property<String> getBackend();
+
+    Property<Boolean> getPathScoped();
+
+    Property<Duration> getGitTimeout();
+
+    Property<Boolean> getRepositoryPool();
+
+    Property<Boolean> getModules();
+
     @Nested
     VersionInfo getVersionInfo();
 
@@ -34,9 +47,45 @@ public interface SemanticVersionExtension {
         action.execute(getVersionInfo());
     }
 
+    @Nested
+    Changelog getChangelog();
+
+    default void changelog(Action<? super Changelog> action) {
+        action.execute(getChangelog());
+    }
+
     interface VersionInfo {
         Property<String> getFileName();
 
         Property<String> getFormatter();
+
+        Property<Boolean> getReproducible();
+
+        Property<Duration> getHostLookupTimeout();
+
+        @Nested
+        Source getSource();
+
+        default void source(Action<? super Source> action) {
+            action.execute(getSource());
+        }
+    }
+
+    interface Changelog {
+        Property<Integer> getReleases();
+
+        Property<String> getFormatter();
+
+        Property<Boolean> getConventionalCommits();
+    }
+
+    interface Source {
+        Property<Boolean> getEnabled();
+
+        Property<String> getLanguage();
+
+        Property<String> getPackageName();
+
+        Property<String> getClassName();
     }
 }
@@ -1,17 +1,17 @@
 package io.margeta.jvmlabs.build.version;
 
-import org.gradle.api.Project;
+import io.margeta.jvmlabs.build.version.service.Timings;
 import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
 
 import javax.annotation.Nullable;
 import java.time.LocalDate;
-import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
 
 final class SemanticVersionProviderBuilder {
-    private final Project project;
+    private final ProviderFactory providers;
     private @Nullable Supplier<Provider<Integer>> major;
     private @Nullable Supplier<Provider<Integer>> minor;
     private @Nullable Supplier<Provider<Integer>> patch;
@@ -22,9 +22,9 @@ final class SemanticVersionProviderBuilder {
     private @Nullable Supplier<Provider<String>> minorFormat;
     private @Nullable Supplier<Provider<String>> patchFormat;
 
-    public SemanticVersionProviderBuilder(Project project) {
-        checkNotNull(project, "project");
-        this.project = project;
+    public SemanticVersionProviderBuilder(ProviderFactory providers) {
+        checkNotNull(providers, "providers");
+        this.providers = providers;
     }
 
     public SemanticVersionProviderBuilder major(Supplier<Provider<Integer>> major) {
@@ -82,23 +82,107 @@ final class SemanticVersionProviderBuilder {
     }
 
     public Provider<SemanticVersion> build() {
-        var provider = project.getProviders().provider(SemanticVersionBuilder::new);
-        provider = apply(provider, major, SemanticVersionBuilder::major);
-        provider = apply(provider, minor, SemanticVersionBuilder::minor);
-        provider = apply(provider, patch, SemanticVersionBuilder::patch);
-        provider = apply(provider, preRelease, SemanticVersionBuilder::preRelease);
-        provider = apply(provider, metadata, SemanticVersionBuilder::metadata);
-        provider = apply(provider, date, SemanticVersionBuilder::date);
-        provider = apply(provider, majorFormat, SemanticVersionBuilder::majorFormat);
-        provider = apply(provider, minorFormat, SemanticVersionBuilder::minorFormat);
-        provider = apply(provider, patchFormat, SemanticVersionBuilder::patchFormat);
-        return provider.map(SemanticVersionBuilder::build);
+        final var resolver = new Resolver(
+                get(major),
+                get(minor),
+                get(patch),
+                get(preRelease),
+                get(metadata),
+                get(date),
+                get(majorFormat),
+                get(minorFormat),
+                get(patchFormat));
+        return providers.provider(resolver::resolve);
     }
 
-    private <T> Provider<SemanticVersionBuilder> apply(
-            Provider<SemanticVersionBuilder> p,
-            @Nullable Supplier<Provider<T>> s,
-            BiFunction<SemanticVersionBuilder, T, SemanticVersionBuilder> m) {
-        return s != null ? p.flatMap(b -> s.get().map(v -> m.apply(b, v)).orElse(b)) : p;
+    @Nullable
+    private static <T> Provider<T> get(@Nullable Supplier<Provider<T>> supplier) {
+        return supplier != null ? supplier.get() : null;
     }
+
+    private static final class Resolver {
+        private final @Nullable Provider<Integer> major;
+        private final @Nullable Provider<Integer> minor;
+        private final @Nullable Provider<Integer> patch;
+        private final @Nullable Provider<String> preRelease;
+        private final @Nullable Provider<String> metadata;
+        private final @Nullable Provider<LocalDate> date;
+        private final @Nullable Provider<String> majorFormat;
+        private final @Nullable Provider<String> minorFormat;
+        private final @Nullable Provider<String> patchFormat;
+        private volatile @Nullable Resolved resolved;
+
+        Resolver(
+                @Nullable Provider<Integer> major,
+                @Nullable Provider<Integer> minor,
+                @Nullable Provider<Integer> patch,
+                @Nullable Provider<String> preRelease,
+                @Nullable Provider<String> metadata,
+                @Nullable Provider<LocalDate> date,
+                @Nullable Provider<String> majorFormat,
+                @Nullable Provider<String> minorFormat,
+                @Nullable Provider<String> patchFormat) {
+            this.major = major;
+            this.minor = minor;
+            this.patch = patch;
+            this.preRelease = preRelease;
+            this.metadata = metadata;
+            this.date = date;
+            this.majorFormat = majorFormat;
+            this.minorFormat = minorFormat;
+            this.patchFormat = patchFormat;
+        }
+
+        SemanticVersion resolve() throws Exception {
+            final var inputs = new Inputs(
+                    getOrNull(major),
+                    getOrNull(minor),
+                    getOrNull(patch),
+                    getOrNull(preRelease),
+                    getOrNull(metadata),
+                    getOrNull(date),
+                    getOrNull(majorFormat),
+                    getOrNull(minorFormat),
+                    getOrNull(patchFormat));
+            final var current = resolved;
+            if (current != null && current.inputs().equals(inputs)) {
+                return current.version();
+            }
+            final var version = Timings.current().time("version.provider", inputs::build);
+            resolved = new Resolved(inputs, version);
+            return version;
+        }
+
+        @Nullable
+        private static <T> T getOrNull(@Nullable Provider<T> provider) {
+            return provider != null ? provider.getOrNull() : null;
+        }
+    }
+
+    private record Inputs(
+            @Nullable Integer major,
+            @Nullable Integer minor,
+            @Nullable Integer patch,
+            @Nullable String preRelease,
+            @Nullable String metadata,
+            @Nullable LocalDate date,
+            @Nullable String majorFormat,
+            @Nullable String minorFormat,
+            @Nullable String patchFormat) {
+        SemanticVersion build() {
+            final var builder = new SemanticVersionBuilder();
+            if (major != null) builder.major(major);
+            if (minor != null) builder.minor(minor);
+            if (patch != null) builder.patch(patch);
+            if (preRelease != null) builder.preRelease(preRelease);
+            if (metadata != null) builder.metadata(metadata);
+            if (date != null) builder.date(date);
+            if (majorFormat != null) builder.majorFormat(majorFormat);
+            if (minorFormat != null) builder.minorFormat(minorFormat);
+            if (patchFormat != null) builder.patchFormat(patchFormat);
+            return builder.build();
+        }
+    }
+
+    private record Resolved(Inputs inputs, SemanticVersion version) {}
 }
@@ -0,0 +1,49 @@
+package io.margeta.jvmlabs.build.version;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.initialization.Settings;
+import org.gradle.build.event.BuildEventsListenerRegistry;
+import org.gradle.util.GradleVersion;
+
+import javax.inject.Inject;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+import static io.margeta.jvmlabs.build.version.Preconditions.checkState;
+
+@SuppressWarnings("unused")
+public final class SemanticVersionSettingsPlugin implements Plugin<Settings> {
+    private static final GradleVersion gradleVersion = GradleVersion.current();
+    private static final GradleVersion minSupportedGradleVersion = GradleVersion.version("9.0");
+
+    private static final String UNSUPPORTED_GRADLE_VERSION =
+            "detected %s but semantic-version plugin requires %s or higher"
+                    .formatted(gradleVersion, minSupportedGradleVersion);
+
+    private final BuildEventsListenerRegistry buildEventsListenerRegistry;
+
+    @Inject
+    public SemanticVersionSettingsPlugin(BuildEventsListenerRegistry buildEventsListenerRegistry) {
+        this.buildEventsListenerRegistry = buildEventsListenerRegistry;
+    }
+
+    @Override
+    public void apply(Settings settings) {
+        checkState(gradleVersion.compareTo(minSupportedGradleVersion) >= 0, UNSUPPORTED_GRADLE_VERSION);
+        checkNotNull(settings, "settings");
+        final var extension = settings.getExtensions().create("semanticVersion", SemanticVersionExtension.class);
+        ProjectConfigurer.configureConventions(extension);
+        final var sharedServices = settings.getGradle().getSharedServices();
+        final var buildDirectory = settings.getLayout().getRootDirectory().dir("build");
+        buildEventsListenerRegistry.onTaskCompletion(ProjectConfigurer.registerTimingService(
+                sharedServices,
+                settings.getProviders().provider(() -> buildDirectory
+                        .file("reports/semantic-version/timings.json")
+                        .getAsFile())));
+        final var configurer = ProjectConfigurer.make(
+                extension,
+                settings.getRootDir(),
+                settings.getProviders().provider(() -> buildDirectory.dir("semantic-version").getAsFile()),
+                true);
+        settings.getGradle().getLifecycle().beforeProject(configurer);
+    }
+}
@@ -0,0 +1,99 @@
+package io.margeta.jvmlabs.build.version;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+public final class VersionIndex {
+    private final SemanticVersion[] versions;
+    private final long[] keys;
+
+    private VersionIndex(SemanticVersion[] versions) {
+        this.versions = versions;
+        this.keys = new long[versions.length];
+        for (var i = 0; i < versions.length; i++) {
+            keys[i] = versions[i].getNumericKey();
+        }
+    }
+
+    public static VersionIndex of(Collection<SemanticVersion> versions) {
+        checkNotNull(versions, "versions");
+        final var sorted = versions.toArray(SemanticVersion[]::new);
+        for (final var version : sorted) {
+            checkNotNull(version, "version");
+        }
+        Arrays.sort(sorted);
+        return new VersionIndex(sorted);
+    }
+
+    public static VersionIndex parse(Collection<String> versions) {
+        checkNotNull(versions, "versions");
+        final var parsed = new ArrayList<SemanticVersion>(versions.size());
+        for (final var version : versions) {
+            parsed.add(SemanticVersion.parse(version));
+        }
+        return of(parsed);
+    }
+
+    @Nullable
+    public SemanticVersion highest(VersionRange range) {
+        checkNotNull(range, "range");
+        final var intervals = range.getIntervals();
+        for (var i = intervals.size() - 1; i >= 0; i--) {
+            final var interval = intervals.get(i);
+            final var end = interval.upper != null ? rank(interval.upper, interval.upperInclusive) : versions.length;
+            if (end > 0 && interval.isAboveLower(versions[end - 1])) {
+                return versions[end - 1];
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    public SemanticVersion lowest(VersionRange range) {
+        checkNotNull(range, "range");
+        for (final var interval : range.getIntervals()) {
+            final var start = interval.lower != null ? rank(interval.lower, !interval.lowerInclusive) : 0;
+            if (start < versions.length && interval.isBelowUpper(versions[start])) {
+                return versions[start];
+            }
+        }
+        return null;
+    }
+
+    public List<SemanticVersion> matching(VersionRange range) {
+        checkNotNull(range, "range");
+        final var matching = new ArrayList<SemanticVersion>();
+        for (final var interval : range.getIntervals()) {
+            final var start = interval.lower != null ? rank(interval.lower, !interval.lowerInclusive) : 0;
+            final var end = interval.upper != null ? rank(interval.upper, interval.upperInclusive) : versions.length;
+            matching.addAll(Arrays.asList(versions).subList(start, Math.max(start, end)));
+        }
+        return matching;
+    }
+
+    public int size() {
+        return versions.length;
+    }
+
+    private int rank(SemanticVersion bound, boolean inclusive) {
+        final var boundKey = bound.getNumericKey();
+        var low = 0;
+        var high = versions.length;
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            final var key = keys[middle];
+            final var result = key != boundKey ? Long.compare(key, boundKey) : versions[middle].compareTo(bound);
+            if (result < 0 || result == 0 && inclusive) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,364 @@
+package io.margeta.jvmlabs.build.version;
+
+import javax.annotation.Nullable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkArgument;
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+import static io.margeta.jvmlabs.build.version.Strings.isBlank;
+import static java.time.temporal.TemporalAdjusters.next;
+
+public final class VersionRange {
+    private static final String NOT_A_VALID_VERSION_RANGE = "Illegal argument, not a valid version range '%s'.";
+    private static final String LOWEST_PRE_RELEASE = "0";
+    private static final VersionRange ANY = new VersionRange(List.of(Interval.ANY));
+
+    private final List<Interval> intervals;
+
+    private VersionRange(List<Interval> intervals) {
+        this.intervals = intervals;
+    }
+
+    public static VersionRange any() {
+        return ANY;
+    }
+
+    public static VersionRange parse(String input) {
+        checkNotNull(input, "input");
+        final var intervals = new ArrayList<Interval>();
+        for (final var set : input.split("\\|\\|", -1)) {
+            final var interval = parseSet(input, set.trim());
+            if (interval != null) {
+                intervals.add(interval);
+            }
+        }
+        return new VersionRange(normalize(intervals));
+    }
+
+    @Nullable
+    private static Interval parseSet(String input, String set) {
+        if (set.isEmpty()) {
+            throw new IllegalArgumentException(NOT_A_VALID_VERSION_RANGE.formatted(input));
+        }
+        @Nullable Interval result = Interval.ANY;
+        for (final var comparator : set.split("\\s+")) {
+            result = result.intersect(parseComparator(input, comparator));
+            if (result == null) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static Interval parseComparator(String input, String comparator) {
+        final var operatorLength = comparator.startsWith(">=") || comparator.startsWith("<=") ? 2
+                : comparator.startsWith(">") || comparator.startsWith("<") || comparator.startsWith("=")
+                || comparator.startsWith("^") || comparator.startsWith("~") ? 1 : 0;
+        final var operator = comparator.substring(0, operatorLength);
+        final var version = comparator.substring(operatorLength);
+        final var parts = parsePartial(input, version);
+        final var full = parts.length == 3 && parts[2] != null;
+        final var lower = full ? SemanticVersion.parse(version) : lowest(parts);
+        final var upper = operator.equals("^") ? caretUpper(parts) : partialUpper(parts);
+        return switch (operator) {
+            case ">=" -> new Interval(lower, true, null, false);
+            case ">" -> full ? new Interval(lower, false, null, false)
+                    : upper != null ? new Interval(upper, true, null, false) : new Interval(null, false, lower, false);
+            case "<=" -> full ? new Interval(null, false, lower, true) : new Interval(null, false, upper, false);
+            case "<" -> new Interval(null, false, full && isRelease(lower) ? lowest(parts) : lower, false);
+            case "^", "~" -> new Interval(lower, true, upper, false);
+            default -> full ? new Interval(lower, true, lower, true) : new Interval(lower, true, upper, false);
+        };
+    }
+
+    private static boolean isRelease(SemanticVersion version) {
+        return isBlank(version.getPreRelease());
+    }
+
+    private static @Nullable Integer[] parsePartial(String input, String version) {
+        final var parts = new Integer[3];
+        var coreEnd = 0;
+        while (coreEnd < version.length() && version.charAt(coreEnd) != '-' && version.charAt(coreEnd) != '+') {
+            coreEnd++;
+        }
+        final var core = version.substring(0, coreEnd).split("\\.", -1);
+        if (core.length > 3) {
+            throw new IllegalArgumentException(NOT_A_VALID_VERSION_RANGE.formatted(input));
+        }
+        var wildcard = false;
+        for (var i = 0; i < core.length; i++) {
+            final var part = core[i];
+            if (part.equals("x") || part.equals("X") || part.equals("*")) {
+                wildcard = true;
+            } else if (wildcard || part.isEmpty() || !part.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                throw new IllegalArgumentException(NOT_A_VALID_VERSION_RANGE.formatted(input));
+            } else {
+                try {
+                    parts[i] = Integer.parseInt(part);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(NOT_A_VALID_VERSION_RANGE.formatted(input));
+                }
+            }
+        }
+        if (coreEnd < version.length() && parts[2] == null) {
+            throw new IllegalArgumentException(NOT_A_VALID_VERSION_RANGE.formatted(input));
+        }
+        return parts;
+    }
+
+    private static SemanticVersion lowest(@Nullable Integer[] parts) {
+        return version(orZero(parts[0]), orZero(parts[1]), orZero(parts[2]));
+    }
+
+    private static int orZero(@Nullable Integer part) {
+        return part != null ? part : 0;
+    }
+
+    @Nullable
+    private static SemanticVersion partialUpper(@Nullable Integer[] parts) {
+        if (parts[0] == null) {
+            return null;
+        }
+        return parts[1] == null ? version(parts[0] + 1, 0, 0) : version(parts[0], parts[1] + 1, 0);
+    }
+
+    @Nullable
+    private static SemanticVersion caretUpper(@Nullable Integer[] parts) {
+        if (parts[0] == null) {
+            return null;
+        }
+        if (parts[0] > 0 || parts[1] == null) {
+            return version(parts[0] + 1, 0, 0);
+        }
+        if (parts[1] > 0 || parts[2] == null) {
+            return version(0, parts[1] + 1, 0);
+        }
+        return version(0, 0, parts[2] + 1);
+    }
+
+    private static SemanticVersion version(int major, int minor, int patch) {
+        SemanticVersion.numericKey(major, minor, patch);
+        return new SemanticVersion(
+                Integer.toString(major), Integer.toString(minor), Integer.toString(patch), LOWEST_PRE_RELEASE, null);
+    }
+
+    public static VersionRange calendar(
+            String majorFormat,
+            @Nullable String minorFormat,
+            @Nullable String patchFormat,
+            LocalDate from,
+            LocalDate to) {
+        checkNotNull(majorFormat, "majorFormat");
+        checkNotNull(from, "from");
+        checkNotNull(to, "to");
+        checkArgument(minorFormat != null || patchFormat == null, "patch format requires a minor format");
+        checkArgument(!from.isAfter(to), "from must not be after to");
+        final var finestFormat = patchFormat != null ? patchFormat : minorFormat != null ? minorFormat : majorFormat;
+        final var next = switch (finestFormat) {
+            case "YYYY", "YY", "0Y" -> LocalDate.of(to.getYear() + 1, 1, 1);
+            case "MM", "0M" -> to.withDayOfMonth(1).plusMonths(1);
+            case "WW", "0W" -> to.with(next(DayOfWeek.MONDAY));
+            default -> to.plusDays(1);
+        };
+        return new VersionRange(List.of(new Interval(
+                calendarVersion(majorFormat, minorFormat, patchFormat, from), true,
+                calendarVersion(majorFormat, minorFormat, patchFormat, next), false)));
+    }
+
+    private static SemanticVersion calendarVersion(
+            String majorFormat, @Nullable String minorFormat, @Nullable String patchFormat, LocalDate date) {
+        final var builder =
+                SemanticVersion.makeBuilder().major(0).minor(0).patch(0).date(date).majorFormat(majorFormat);
+        if (minorFormat != null) {
+            builder.minorFormat(minorFormat);
+        }
+        if (patchFormat != null) {
+            builder.patchFormat(patchFormat);
+        }
+        final var version = builder.build();
+        return new SemanticVersion(
+                version.getMajor(), version.getMinor(), version.getPatch(), LOWEST_PRE_RELEASE, null);
+    }
+
+    private static List<Interval> normalize(List<Interval> intervals) {
+        intervals.sort(Comparator.comparing((Interval it) -> it.lower, Interval::compareLowerBounds)
+                .thenComparing(it -> !it.lowerInclusive));
+        final var merged = new ArrayList<Interval>();
+        for (final var interval : intervals) {
+            final var last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && last.overlapsOrTouches(interval)) {
+                merged.set(merged.size() - 1, last.span(interval));
+            } else {
+                merged.add(interval);
+            }
+        }
+        return List.copyOf(merged);
+    }
+
+    public boolean contains(SemanticVersion version) {
+        checkNotNull(version, "version");
+        for (final var interval : intervals) {
+            if (interval.contains(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    List<Interval> getIntervals() {
+        return intervals;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        return other instanceof VersionRange that && intervals.equals(that.intervals);
+    }
+
+    @Override
+    public int hashCode() {
+        return intervals.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (intervals.isEmpty()) {
+            return "<0.0.0-0";
+        }
+        final var range = new StringJoiner(" || ");
+        for (final var interval : intervals) {
+            range.add(interval.toString());
+        }
+        return range.toString();
+    }
+
+    static final class Interval {
+        static final Interval ANY = new Interval(null, false, null, false);
+
+        final @Nullable SemanticVersion lower;
+        final boolean lowerInclusive;
+        final @Nullable SemanticVersion upper;
+        final boolean upperInclusive;
+
+        Interval(
+                @Nullable SemanticVersion lower,
+                boolean lowerInclusive,
+                @Nullable SemanticVersion upper,
+                boolean upperInclusive) {
+            this.lower = lower;
+            this.lowerInclusive = lower != null && lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upper != null && upperInclusive;
+        }
+
+        boolean contains(SemanticVersion version) {
+            return isAboveLower(version) && isBelowUpper(version);
+        }
+
+        boolean isAboveLower(SemanticVersion version) {
+            if (lower == null) {
+                return true;
+            }
+            final var result = version.compareTo(lower);
+            return result > 0 || result == 0 && lowerInclusive;
+        }
+
+        boolean isBelowUpper(SemanticVersion version) {
+            if (upper == null) {
+                return true;
+            }
+            final var result = version.compareTo(upper);
+            return result < 0 || result == 0 && upperInclusive;
+        }
+
+        @Nullable
+        Interval intersect(Interval other) {
+            final var lowerResult = compareLowerBounds(lower, other.lower);
+            final var lowerSource = lowerResult > 0 || lowerResult == 0 && !lowerInclusive ? this : other;
+            final var upperResult = compareUpperBounds(upper, other.upper);
+            final var upperSource = upperResult < 0 || upperResult == 0 && !upperInclusive ? this : other;
+            final var result = new Interval(
+                    lowerSource.lower, lowerSource.lowerInclusive, upperSource.upper, upperSource.upperInclusive);
+            return result.isEmpty() ? null : result;
+        }
+
+        private boolean isEmpty() {
+            if (lower == null || upper == null) {
+                return false;
+            }
+            final var result = lower.compareTo(upper);
+            return result > 0 || result == 0 && !(lowerInclusive && upperInclusive);
+        }
+
+        boolean overlapsOrTouches(Interval next) {
+            if (upper == null || next.lower == null) {
+                return true;
+            }
+            final var result = upper.compareTo(next.lower);
+            return result > 0 || result == 0 && (upperInclusive || next.lowerInclusive);
+        }
+
+        Interval span(Interval next) {
+            final var upperResult = compareUpperBounds(upper, next.upper);
+            final var upperSource = upperResult > 0 || upperResult == 0 && upperInclusive ? this : next;
+            return new Interval(lower, lowerInclusive, upperSource.upper, upperSource.upperInclusive);
+        }
+
+        static int compareLowerBounds(@Nullable SemanticVersion left, @Nullable SemanticVersion right) {
+            if (left == null || right == null) {
+                return Boolean.compare(left != null, right != null);
+            }
+            return left.compareTo(right);
+        }
+
+        static int compareUpperBounds(@Nullable SemanticVersion left, @Nullable SemanticVersion right) {
+            if (left == null || right == null) {
+                return Boolean.compare(left == null, right == null);
+            }
+            return left.compareTo(right);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            return other instanceof Interval that
+                    && lowerInclusive == that.lowerInclusive
+                    && upperInclusive == that.upperInclusive
+                    && compareLowerBounds(lower, that.lower) == 0
+                    && compareUpperBounds(upper, that.upper) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = lower != null ? Long.hashCode(lower.getNumericKey()) : 0;
+            result = 31 * result + (upper != null ? Long.hashCode(upper.getNumericKey()) : 0);
+            result = 31 * result + Boolean.hashCode(lowerInclusive);
+            result = 31 * result + Boolean.hashCode(upperInclusive);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            if (lower == null && upper == null) {
+                return "*";
+            }
+            final var interval = new StringJoiner(" ");
+            if (lower != null) {
+                interval.add((lowerInclusive ? ">=" : ">") + lower.toExtendedString());
+            }
+            if (upper != null) {
+                interval.add((upperInclusive ? "<=" : "<") + upper.toExtendedString());
+            }
+            return interval.toString();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.Repository;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+final class AutoGitOperations implements GitOperations {
+    private static final Logger logger = Logging.getLogger(AutoGitOperations.class);
+    private static final String FILE_NAME = "git-backend.properties";
+    private static final String PLUGIN_VERSION = "plugin.version";
+    private static final String GIT_VERSION = "git.version";
+    private static final String REFS = "refs";
+    private static final String PACKS = "packs";
+    private static final int WARMUP_RUNS = 1;
+    private static final int SAMPLES = 5;
+
+    private final Repository repository;
+    private final GitOperations jgit;
+    private final CliGitOperations cli;
+    private final @Nullable Path file;
+    private final Properties choices;
+    private boolean checked;
+    private boolean modified;
+
+    AutoGitOperations(
+            Repository repository, GitOperations jgit, CliGitOperations cli, @Nullable File cacheDirectory) {
+        this.repository = repository;
+        this.jgit = jgit;
+        this.cli = cli;
+        this.file = cacheDirectory != null ? cacheDirectory.toPath().resolve(FILE_NAME) : null;
+        this.choices = read(file);
+    }
+
+    private static Properties read(@Nullable Path file) {
+        final var properties = new Properties();
+        if (file != null && Files.isRegularFile(file)) {
+            try (final var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.info("Failed to read git backend calibration {}.", file);
+                properties.clear();
+            }
+        }
+        return properties;
+    }
+
+    @Override
+    public String describe(String pattern) throws Exception {
+        return select("describe", it -> it.describe(pattern));
+    }
+
+    @Override
+    public boolean isDirty(boolean submodules) throws Exception {
+        return select("isDirty", it -> it.isDirty(submodules));
+    }
+
+    @Override
+    public GitService.Commit head() throws Exception {
+        return select("head", GitOperations::head);
+    }
+
+    @Override
+    public GitService.Commit commit(String revision) throws Exception {
+        return select("commit", it -> it.commit(revision));
+    }
+
+    @Override
+    public String branch() throws Exception {
+        return select("branch", GitOperations::branch);
+    }
+
+    @Override
+    public long commitDepth() throws Exception {
+        return select("commitDepth", GitOperations::commitDepth);
+    }
+
+    @Override
+    public long commitDepth(String revision) throws Exception {
+        return select("commitDepth", it -> it.commitDepth(revision));
+    }
+
+    @Nullable
+    @Override
+    public String lastCommit(String path) throws Exception {
+        return select("lastCommit", it -> it.lastCommit(path));
+    }
+
+    @Override
+    public Changelog changelog(String pattern, int releases) throws Exception {
+        return jgit.changelog(pattern, releases);
+    }
+
+    private <T> T select(String operation, Operation<T> action) throws Exception {
+        final var choice = getChoice(operation);
+        if (choice != null) {
+            return action.apply(choice == GitBackend.CLI ? cli : jgit);
+        }
+        final var result = action.apply(jgit);
+        final var jgitTimes = new long[SAMPLES];
+        final var cliTimes = new long[SAMPLES];
+        try {
+            for (var i = 0; i < WARMUP_RUNS; i++) {
+                action.apply(cli);
+            }
+            for (var i = 0; i < SAMPLES; i++) {
+                jgitTimes[i] = time(jgit, action);
+                cliTimes[i] = time(cli, action);
+            }
+        } catch (Exception e) {
+            logger.info("Failed to calibrate the git {} operation, selected {}.", operation, GitBackend.JGIT);
+            setChoice(operation, GitBackend.JGIT);
+            return result;
+        }
+        final var jgitTime = median(jgitTimes);
+        final var cliTime = median(cliTimes);
+        final var selected = cliTime < jgitTime ? GitBackend.CLI : GitBackend.JGIT;
+        logger.info(
+                "Calibrated the git {} operation, {} backend took {} ns and {} backend took {} ns, selected {}.",
+                operation, GitBackend.JGIT, jgitTime, GitBackend.CLI, cliTime, selected);
+        setChoice(operation, selected);
+        return result;
+    }
+
+    private static <T> long time(GitOperations operations, Operation<T> action) throws Exception {
+        final var start = System.nanoTime();
+        action.apply(operations);
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] times) {
+        Arrays.sort(times);
+        return times[times.length / 2];
+    }
+
+    @Nullable
+    private synchronized GitBackend getChoice(String operation) {
+        if (!checked) {
+            check();
+            checked = true;
+        }
+        final var choice = choices.getProperty(operation);
+        try {
+            return choice != null ? GitBackend.valueOf(choice) : null;
+        } catch (IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+
+    private void check() {
+        final var pluginVersion = pluginVersion();
+        final var gitVersion = gitVersion();
+        final var refs = refs();
+        final var packs = packs();
+        if (!Objects.equals(pluginVersion, choices.getProperty(PLUGIN_VERSION))
+                || !Objects.equals(gitVersion, choices.getProperty(GIT_VERSION))
+                || drifted(refs, choices.getProperty(REFS))
+                || drifted(packs, choices.getProperty(PACKS))) {
+            if (!choices.isEmpty()) {
+                logger.info("Recalibrating the git backends, the git backend calibration {} is out of date.", file);
+            }
+            choices.clear();
+            choices.setProperty(PLUGIN_VERSION, pluginVersion);
+            choices.setProperty(GIT_VERSION, gitVersion);
+            choices.setProperty(REFS, Long.toString(refs));
+            choices.setProperty(PACKS, Long.toString(packs));
+        }
+    }
+
+    private static boolean drifted(long current, @Nullable String calibrated) {
+        try {
+            final var value = calibrated != null ? Long.parseLong(calibrated) : -1L;
+            return value < 0L || current > 2L * Math.max(value, 1L) || 2L * Math.max(current, 1L) < value;
+        } catch (NumberFormatException ignored) {
+            return true;
+        }
+    }
+
+    private static String pluginVersion() {
+        final var version = AutoGitOperations.class.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        try {
+            final var location = Path.of(
+                    AutoGitOperations.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return "%d-%d".formatted(Files.size(location), Files.getLastModifiedTime(location).toMillis());
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            return "unknown";
+        }
+    }
+
+    private String gitVersion() {
+        try {
+            return cli.version();
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private long refs() {
+        try {
+            return repository.getRefDatabase().getRefs().size();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private long packs() {
+        final var directory = repository.getCommonDirectory().toPath().resolve("objects").resolve("pack");
+        if (!Files.isDirectory(directory)) {
+            return 0L;
+        }
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.filter(it -> it.getFileName().toString().endsWith(".pack")).count();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private synchronized void setChoice(String operation, GitBackend backend) {
+        choices.setProperty(operation, backend.name());
+        modified = true;
+    }
+
+    @Override
+    public synchronized void close() {
+        jgit.close();
+        cli.close();
+        if (file == null || !modified) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            final var temporary = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            try (final var writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                choices.store(writer, null);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            logger.info("Failed to write git backend calibration {}.", file);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation<T> {
+        T apply(GitOperations operations) throws Exception;
+    }
+}
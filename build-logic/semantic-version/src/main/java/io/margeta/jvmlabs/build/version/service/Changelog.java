@@ -0,0 +1,11 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.List;
+
+public record Changelog(List<Release> releases) implements Serializable {
+    public static final Changelog EMPTY = new Changelog(List.of());
+
+    public record Release(@Nullable String tag, List<GitService.Commit> commits) implements Serializable {}
+}
@@ -0,0 +1,97 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkArgument;
+
+final class ChangelogWalk {
+    private static final int UNRELEASED = 0;
+
+    private ChangelogWalk() {
+        throw new UnsupportedOperationException("Not meant to be instantiated.");
+    }
+
+    static Changelog walk(Repository repository, ObjectId head, Map<ObjectId, List<String>> tagged, int releases)
+            throws IOException {
+        checkArgument(releases > 0, "releases must be greater than zero");
+        try (final var objectReader = repository.newObjectReader();
+                final var revWalk = new RevWalk(objectReader)) {
+            final var tags = new HashSet<RevCommit>();
+            final var boundary = findTagged(revWalk, head, tagged, releases, tags);
+            revWalk.reset();
+            revWalk.sort(RevSort.TOPO);
+            revWalk.markStart(revWalk.parseCommit(head));
+            if (boundary != null) {
+                revWalk.markUninteresting(boundary);
+            }
+            final var commits = assign(revWalk, tags);
+            final var result = new ArrayList<Changelog.Release>(commits.size());
+            for (final var release : commits) {
+                if (release.isEmpty()) {
+                    continue;
+                }
+                final var first = release.getFirst();
+                final var names = tags.contains(first) ? tagged.get(first) : null;
+                final var converted = new ArrayList<GitService.Commit>(release.size());
+                for (final var commit : release) {
+                    converted.add(JGitOperations.commit(objectReader, commit));
+                }
+                result.add(new Changelog.Release(
+                        names != null ? JGitOperations.selectTag(repository, revWalk, names) : null,
+                        List.copyOf(converted)));
+            }
+            return new Changelog(List.copyOf(result));
+        }
+    }
+
+    @Nullable
+    private static RevCommit findTagged(
+            RevWalk revWalk, ObjectId head, Map<ObjectId, List<String>> tagged, int releases, Set<RevCommit> tags)
+            throws IOException {
+        if (tagged.isEmpty()) {
+            return null;
+        }
+        revWalk.markStart(revWalk.parseCommit(head));
+        for (final var commit : revWalk) {
+            if (tagged.containsKey(commit)) {
+                if (tags.size() == releases) {
+                    return commit;
+                }
+                tags.add(commit);
+            }
+        }
+        return null;
+    }
+
+    private static List<List<RevCommit>> assign(RevWalk revWalk, Set<RevCommit> tags) {
+        final var commits = new ArrayList<List<RevCommit>>();
+        commits.add(new ArrayList<>());
+        final var labels = new HashMap<RevCommit, Integer>();
+        for (final var commit : revWalk) {
+            var label = labels.getOrDefault(commit, UNRELEASED);
+            labels.remove(commit);
+            if (tags.contains(commit)) {
+                label = commits.size();
+                commits.add(new ArrayList<>());
+            }
+            commits.get(label).add(commit);
+            for (final var parent : commit.getParents()) {
+                labels.merge(parent, label, Math::max);
+            }
+        }
+        return commits;
+    }
+}
@@ -0,0 +1,154 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+final class CliGitOperations implements GitOperations {
+    private static final String EXECUTABLE = "git";
+    private static final long TIMEOUT_SECONDS = 60L;
+    private static final String ABBREV_OPTION = "--abbrev=7";
+
+    private final Repository repository;
+
+    CliGitOperations(Repository repository) {
+        this.repository = repository;
+    }
+
+    String version() throws IOException, InterruptedException {
+        return git("--version").strip();
+    }
+
+    @Override
+    public String describe(String pattern) throws Exception {
+        return git("describe", "--tags", "--always", "--long", ABBREV_OPTION, "--match", pattern, "HEAD")
+                .strip();
+    }
+
+    @Override
+    public boolean isDirty(boolean submodules) throws Exception {
+        if (!submodules) {
+            return !git("status", "--porcelain", "--untracked-files=no", "--ignore-submodules=all").isBlank();
+        }
+        return !git("status", "--porcelain", "--untracked-files=no").isBlank();
+    }
+
+    @Override
+    public GitService.Commit head() throws Exception {
+        return commit("HEAD");
+    }
+
+    @Override
+    public GitService.Commit commit(String revision) throws Exception {
+        final var fields = git("show", "-s", ABBREV_OPTION, "--format=%H%x00%h%x00%ct%x00%ae%x00%an%x00%s", revision)
+                .stripTrailing()
+                .split("\0", 6);
+        if (fields.length != 6) {
+            throw new IOException("Failed to parse the %s commit.".formatted(revision));
+        }
+        return new GitService.Commit(
+                fields[0],
+                fields[1],
+                fields[5],
+                Instant.ofEpochSecond(Long.parseLong(fields[2])),
+                fields[3],
+                fields[4]);
+    }
+
+    @Override
+    public String branch() throws Exception {
+        try {
+            return git("symbolic-ref", "--short", "-q", "HEAD").strip();
+        } catch (IOException e) {
+            return git("rev-parse", "HEAD").strip();
+        }
+    }
+
+    @Override
+    public long commitDepth() throws Exception {
+        return commitDepth("HEAD");
+    }
+
+    @Override
+    public long commitDepth(String revision) throws Exception {
+        return Long.parseLong(git("rev-list", "--count", revision).strip());
+    }
+
+    @Nullable
+    @Override
+    public String lastCommit(String path) throws Exception {
+        final var commit = git("log", "-1", "--first-parent", "--format=%H", "HEAD", "--", path).strip();
+        return commit.isEmpty() ? null : commit;
+    }
+
+    @Override
+    public Changelog changelog(String pattern, int releases) throws Exception {
+        final var head = repository.resolve(Constants.HEAD);
+        if (head == null) {
+            throw new IOException("Failed to resolve the head commit.");
+        }
+        return ChangelogWalk.walk(repository, head, TagIndex.load(null).tagged(repository, pattern), releases);
+    }
+
+    private String git(String... arguments) throws IOException, InterruptedException {
+        final var command = new ArrayList<String>(arguments.length + 1);
+        command.add(EXECUTABLE);
+        command.addAll(List.of(arguments));
+        final var processBuilder = new ProcessBuilder(command)
+                .directory(repository.getWorkTree())
+                .redirectError(ProcessBuilder.Redirect.DISCARD);
+        final var environment = processBuilder.environment();
+        environment.put("GIT_DIR", repository.getDirectory().getAbsolutePath());
+        environment.put("GIT_WORK_TREE", repository.getWorkTree().getAbsolutePath());
+        environment.put("GIT_OPTIONAL_LOCKS", "0");
+        environment.put("LC_ALL", "C");
+        final var process = processBuilder.start();
+        try {
+            process.getOutputStream().close();
+            final var output = new CompletableFuture<byte[]>();
+            Thread.ofVirtual().name("semantic-version-git-output").start(() -> {
+                try (final var input = process.getInputStream()) {
+                    output.complete(input.readAllBytes());
+                } catch (Exception e) {
+                    output.completeExceptionally(e);
+                }
+            });
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("Timed out while executing git %s.".formatted(arguments[0]));
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException(
+                        "Failed to execute git %s, exit code %d.".formatted(arguments[0], process.exitValue()));
+            }
+            return new String(read(output, arguments[0]), StandardCharsets.UTF_8);
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    private static byte[] read(CompletableFuture<byte[]> output, String command)
+            throws IOException, InterruptedException {
+        try {
+            return output.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out while reading the output of git %s.".formatted(command), e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to read the output of git %s.".formatted(command), e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {}
+}
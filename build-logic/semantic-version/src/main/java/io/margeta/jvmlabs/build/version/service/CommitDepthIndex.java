@@ -0,0 +1,178 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.internal.storage.commitgraph.CommitGraph;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+final class CommitDepthIndex {
+    private static final Logger logger = Logging.getLogger(CommitDepthIndex.class);
+    private static final String FILE_NAME = "commit-depth.idx";
+    private static final int MAX_ENTRIES = 64;
+    private static final byte FROM_COMMIT = 1;
+    private static final byte FROM_BASE = 2;
+    private static final byte FROM_BOTH = FROM_COMMIT | FROM_BASE;
+
+    private final @Nullable Path file;
+    private final LinkedHashMap<ObjectId, Long> depths;
+    private boolean modified;
+
+    private CommitDepthIndex(@Nullable Path file, LinkedHashMap<ObjectId, Long> depths) {
+        this.file = file;
+        this.depths = depths;
+    }
+
+    static CommitDepthIndex load(@Nullable File directory) {
+        if (directory == null) {
+            return new CommitDepthIndex(null, new LinkedHashMap<>());
+        }
+        final var file = directory.toPath().resolve(FILE_NAME);
+        return new CommitDepthIndex(file, read(file));
+    }
+
+    private static LinkedHashMap<ObjectId, Long> read(Path file) {
+        final var depths = new LinkedHashMap<ObjectId, Long>();
+        if (Files.isRegularFile(file)) {
+            try {
+                for (final var line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+                    final var separator = line.indexOf(' ');
+                    depths.put(
+                            ObjectId.fromString(line.substring(0, separator)),
+                            Long.parseLong(line.substring(separator + 1)));
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.info("Failed to read commit depth index {}.", file);
+                depths.clear();
+            }
+        }
+        return depths;
+    }
+
+    synchronized long commitDepth(Repository repository, ObjectId commit) throws IOException {
+        final var indexed = depths.get(commit);
+        if (indexed != null) {
+            return indexed;
+        }
+        final var depth = depth(repository, commit);
+        put(commit, depth);
+        return depth;
+    }
+
+    private long depth(Repository repository, ObjectId commit) throws IOException {
+        try (final var reader = repository.newObjectReader()) {
+            final var graph = reader.getCommitGraph();
+            if (graph.isPresent()) {
+                final var base = findBase(repository);
+                final var commitPosition = graph.get().findGraphPosition(commit);
+                final var basePosition = base != null ? graph.get().findGraphPosition(base) : -1;
+                if (commitPosition >= 0 && (base == null || basePosition >= 0)) {
+                    return (base != null ? depths.get(base) : 0L) + delta(graph.get(), commitPosition, basePosition);
+                }
+            }
+        }
+        return count(repository, commit);
+    }
+
+    @Nullable
+    private ObjectId findBase(Repository repository) throws IOException {
+        final var candidates = new ArrayList<>(depths.keySet());
+        for (var i = candidates.size() - 1; i >= 0; i--) {
+            if (repository.getObjectDatabase().has(candidates.get(i))) {
+                return candidates.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static long count(Repository repository, ObjectId commit) throws IOException {
+        try (final var revWalk = new RevWalk(repository)) {
+            revWalk.markStart(revWalk.parseCommit(commit));
+            var count = 0L;
+            for (final var ignored : revWalk) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static long delta(CommitGraph graph, int commit, int base) {
+        final var flags = new byte[Math.toIntExact(graph.getCommitCnt())];
+        final var generations = new int[flags.length];
+        final var queue = new PriorityQueue<Integer>(
+                (left, right) -> Integer.compare(generations[right], generations[left]));
+        var pending = enqueue(graph, queue, flags, generations, commit, FROM_COMMIT);
+        if (base >= 0) {
+            pending += enqueue(graph, queue, flags, generations, base, FROM_BASE);
+        }
+        var delta = 0L;
+        while (pending > 0) {
+            final int position = queue.remove();
+            final var flag = flags[position];
+            if (flag != FROM_BOTH) {
+                pending--;
+                delta += flag == FROM_COMMIT ? 1 : -1;
+            }
+            for (final var parent : graph.getCommitData(position).getParents()) {
+                pending += enqueue(graph, queue, flags, generations, parent, flag);
+            }
+        }
+        return delta;
+    }
+
+    private static int enqueue(
+            CommitGraph graph, PriorityQueue<Integer> queue, byte[] flags, int[] generations, int position, byte flag) {
+        final var previous = flags[position];
+        final var current = (byte) (previous | flag);
+        if (previous == current) {
+            return 0;
+        }
+        flags[position] = current;
+        if (previous == 0) {
+            generations[position] = graph.getCommitData(position).getGeneration();
+            queue.add(position);
+            return current == FROM_BOTH ? 0 : 1;
+        }
+        return current == FROM_BOTH ? -1 : 0;
+    }
+
+    private void put(ObjectId commit, long depth) {
+        depths.put(commit.copy(), depth);
+        if (depths.size() > MAX_ENTRIES) {
+            depths.remove(depths.keySet().iterator().next());
+        }
+        modified = true;
+    }
+
+    synchronized void store() {
+        if (file == null || !modified) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            final var temporary = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            final var lines = new ArrayList<String>(depths.size());
+            for (final Map.Entry<ObjectId, Long> entry : depths.entrySet()) {
+                lines.add(entry.getKey().name() + ' ' + entry.getValue());
+            }
+            Files.write(temporary, lines, StandardCharsets.US_ASCII);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            logger.info("Failed to write commit depth index {}.", file);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
+import org.eclipse.jgit.revwalk.RevFlagSet;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+final class DescribeWalk {
+    static final int MAX_CANDIDATES = 10;
+
+    private DescribeWalk() {
+        throw new UnsupportedOperationException("Not meant to be instantiated.");
+    }
+
+    @Nullable
+    static Described walk(RevWalk revWalk, ObjectId head, Map<ObjectId, List<String>> tagged) throws IOException {
+        final var start = revWalk.parseCommit(head);
+        if (tagged.containsKey(start)) {
+            return new Described(start, 0L);
+        }
+        if (tagged.isEmpty()) {
+            return null;
+        }
+        final var seen = revWalk.newFlag("seen");
+        final var queue = new Queue();
+        final var candidates = new ArrayList<Candidate>(MAX_CANDIDATES);
+        start.add(seen);
+        queue.add(start);
+        RevCommit gaveUpOn = null;
+        while (!queue.isEmpty()) {
+            if (!candidates.isEmpty() && queue.allHave(closest(candidates))) {
+                break;
+            }
+            final var commit = queue.poll();
+            if (tagged.containsKey(commit)) {
+                if (candidates.size() == MAX_CANDIDATES) {
+                    gaveUpOn = commit;
+                    break;
+                }
+                final var candidate = new Candidate(
+                        commit, revWalk.newFlag("candidate" + candidates.size()), queue.polled - 1);
+                commit.add(candidate.flag);
+                candidates.add(candidate);
+            }
+            for (final var candidate : candidates) {
+                if (!commit.has(candidate.flag)) {
+                    candidate.depth++;
+                }
+            }
+            addParents(revWalk, queue, commit, seen, candidates);
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        final var best = candidates.stream().min(Comparator.comparingLong(it -> it.depth)).orElseThrow();
+        if (gaveUpOn != null) {
+            queue.add(gaveUpOn);
+        }
+        finishDepth(revWalk, queue, best, seen, candidates);
+        return new Described(best.commit, best.depth);
+    }
+
+    private static RevFlagSet closest(List<Candidate> candidates) {
+        final var closest = new RevFlagSet();
+        var depth = Long.MAX_VALUE;
+        for (final var candidate : candidates) {
+            if (candidate.depth < depth) {
+                depth = candidate.depth;
+                closest.clear();
+            }
+            if (candidate.depth == depth) {
+                closest.add(candidate.flag);
+            }
+        }
+        return closest;
+    }
+
+    private static void finishDepth(
+            RevWalk revWalk, Queue queue, Candidate best, RevFlag seen, List<Candidate> candidates)
+            throws IOException {
+        final var flags = new RevFlagSet(List.of(best.flag));
+        while (!queue.isEmpty()) {
+            final var commit = queue.poll();
+            if (commit.has(best.flag)) {
+                if (queue.allHave(flags)) {
+                    break;
+                }
+            } else {
+                best.depth++;
+            }
+            addParents(revWalk, queue, commit, seen, candidates);
+        }
+    }
+
+    private static void addParents(
+            RevWalk revWalk, Queue queue, RevCommit commit, RevFlag seen, List<Candidate> candidates)
+            throws IOException {
+        for (final var parent : commit.getParents()) {
+            revWalk.parseHeaders(parent);
+            if (!parent.has(seen)) {
+                parent.add(seen);
+                queue.add(parent);
+            }
+            for (final var candidate : candidates) {
+                if (commit.has(candidate.flag)) {
+                    parent.add(candidate.flag);
+                }
+            }
+        }
+    }
+
+    record Described(RevCommit commit, long depth) {}
+
+    private static final class Candidate {
+        private final RevCommit commit;
+        private final RevFlag flag;
+        private long depth;
+
+        private Candidate(RevCommit commit, RevFlag flag, long depth) {
+            this.commit = commit;
+            this.flag = flag;
+            this.depth = depth;
+        }
+    }
+
+    private static final class Queue {
+        private final PriorityQueue<Entry> entries = new PriorityQueue<>(Comparator
+                .comparingInt((Entry it) -> it.commit().getCommitTime())
+                .reversed()
+                .thenComparingLong(Entry::sequence));
+        private long sequence;
+        private long polled;
+
+        private boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        private void add(RevCommit commit) {
+            entries.add(new Entry(commit, sequence++));
+        }
+
+        private RevCommit poll() {
+            polled++;
+            return entries.remove().commit();
+        }
+
+        private boolean allHave(RevFlagSet flags) {
+            for (final var entry : entries) {
+                if (!entry.commit().hasAll(flags)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private record Entry(RevCommit commit, long sequence) {}
+    }
+}
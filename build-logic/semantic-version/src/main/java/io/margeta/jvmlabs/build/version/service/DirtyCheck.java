@@ -0,0 +1,41 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.submodule.SubmoduleWalk;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+public enum DirtyCheck {
+    STATUS {
+        @Override
+        boolean isDirty(Repository repository, boolean submodules) throws Exception {
+            final var status = Git.wrap(repository).status();
+            if (!submodules) {
+                status.setIgnoreSubmodules(SubmoduleWalk.IgnoreSubmoduleMode.ALL);
+            }
+            return status.call().hasUncommittedChanges();
+        }
+    },
+    INDEX {
+        @Override
+        boolean isDirty(Repository repository, boolean submodules) throws Exception {
+            return IndexDirtyCheck.isDirty(repository, submodules);
+        }
+    };
+
+    static DirtyCheck parse(String name) {
+        checkNotNull(name, "name");
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported dirty check '%s'.".formatted(name), e);
+        }
+    }
+
+    boolean isDirty(Repository repository) throws Exception {
+        return isDirty(repository, true);
+    }
+
+    abstract boolean isDirty(Repository repository, boolean submodules) throws Exception;
+}
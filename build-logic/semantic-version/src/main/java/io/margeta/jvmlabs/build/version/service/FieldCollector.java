@@ -0,0 +1,84 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+final class FieldCollector {
+    private static final Logger logger = Logging.getLogger(FieldCollector.class);
+
+    private final @Nullable Duration timeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger timedOut = new AtomicInteger();
+
+    FieldCollector(@Nullable Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    <T> CompletableFuture<Optional<T>> collect(String field, Supplier<Optional<T>> loader) {
+        checkNotNull(field, "field");
+        checkNotNull(loader, "loader");
+        return collect(field, CompletableFuture.supplyAsync(loader, executor).exceptionally(e -> Optional.empty()));
+    }
+
+    <T> CompletableFuture<Optional<T>> collect(String field, CompletableFuture<Optional<T>> future) {
+        checkNotNull(field, "field");
+        checkNotNull(future, "future");
+        if (timeout == null || future.isDone()) {
+            return future;
+        }
+        CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            timedOut.incrementAndGet();
+            if (future.complete(Optional.empty())) {
+                logger.warn("Timed out collecting the git {} after {} ms, leaving it out.", field, timeout.toMillis());
+            } else {
+                timedOut.decrementAndGet();
+            }
+        });
+        return future;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    boolean isTimedOut() {
+        return timedOut.get() > 0;
+    }
+
+    void close(Runnable release) {
+        checkNotNull(release, "release");
+        executor.shutdownNow();
+        if (!isTimedOut()) {
+            awaitTermination();
+            release.run();
+            return;
+        }
+        Thread.ofVirtual().name("semantic-version-git-release").start(() -> {
+            awaitTermination();
+            release.run();
+        });
+    }
+
+    private void awaitTermination() {
+        try {
+            while (!executor.awaitTermination(1L, TimeUnit.MINUTES)) {
+                logger.info("Waiting for the git operations to complete.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
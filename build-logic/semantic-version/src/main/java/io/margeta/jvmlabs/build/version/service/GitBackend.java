@@ -0,0 +1,44 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.Repository;
+
+import javax.annotation.Nullable;
+import java.io.File;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+public enum GitBackend {
+    JGIT {
+        @Override
+        GitOperations open(Repository repository, DirtyCheck dirtyCheck, @Nullable File cacheDirectory) {
+            return new JGitOperations(repository, dirtyCheck, cacheDirectory);
+        }
+    },
+    CLI {
+        @Override
+        GitOperations open(Repository repository, DirtyCheck dirtyCheck, @Nullable File cacheDirectory) {
+            return new CliGitOperations(repository);
+        }
+    },
+    AUTO {
+        @Override
+        GitOperations open(Repository repository, DirtyCheck dirtyCheck, @Nullable File cacheDirectory) {
+            return new AutoGitOperations(
+                    repository,
+                    JGIT.open(repository, dirtyCheck, cacheDirectory),
+                    new CliGitOperations(repository),
+                    cacheDirectory);
+        }
+    };
+
+    static GitBackend parse(String name) {
+        checkNotNull(name, "name");
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported git backend '%s'.".formatted(name), e);
+        }
+    }
+
+    abstract GitOperations open(Repository repository, DirtyCheck dirtyCheck, @Nullable File cacheDirectory);
+}
@@ -0,0 +1,156 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+final class GitCache {
+    private static final Logger logger = Logging.getLogger(GitCache.class);
+    private static final String FILE_NAME = "git-cache.properties";
+    private static final String HEAD_KEY = "head";
+    private static final String TAGS_KEY = "tags";
+    private static final String DESCRIBE_KEY_PREFIX = "describe.";
+    private static final String COMMIT_DEPTH_KEY = "commitDepth";
+
+    private final @Nullable Path file;
+    private final Properties entries;
+    private boolean modified;
+    private int hits;
+    private int misses;
+
+    private GitCache(@Nullable Path file, Properties entries, boolean modified) {
+        this.file = file;
+        this.entries = entries;
+        this.modified = modified;
+    }
+
+    static GitCache load(@Nullable File directory, Repository repository) {
+        if (directory == null) {
+            return new GitCache(null, new Properties(), false);
+        }
+        final var file = directory.toPath().resolve(FILE_NAME);
+        final var head = headFingerprint(repository);
+        final var tags = tagsFingerprint(repository);
+        final var entries = read(file);
+        if (head.equals(entries.getProperty(HEAD_KEY)) && tags.equals(entries.getProperty(TAGS_KEY))) {
+            return new GitCache(file, entries, false);
+        }
+        logger.info("Git cache {} is stale, rebuilding.", file);
+        final var fresh = new Properties();
+        fresh.setProperty(HEAD_KEY, head);
+        fresh.setProperty(TAGS_KEY, tags);
+        return new GitCache(file, fresh, true);
+    }
+
+    private static String headFingerprint(Repository repository) {
+        try {
+            final var head = repository.resolve(Constants.HEAD);
+            return head != null ? head.name() : ObjectId.zeroId().name();
+        } catch (IOException e) {
+            return ObjectId.zeroId().name();
+        }
+    }
+
+    private static String tagsFingerprint(Repository repository) {
+        final var fingerprint = TagIndex.fingerprint(repository);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        try {
+            final var digest = MessageDigest.getInstance("SHA-1");
+            for (final var ref : repository.getRefDatabase().getRefsByPrefix(Constants.R_TAGS)) {
+                digest.update(ref.getName().getBytes(StandardCharsets.UTF_8));
+                if (ref.getObjectId() != null) {
+                    digest.update(ref.getObjectId().name().getBytes(StandardCharsets.US_ASCII));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return "";
+        }
+    }
+
+    private static Properties read(Path file) {
+        final var properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (final var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.info("Failed to read git cache {}.", file);
+                properties.clear();
+            }
+        }
+        return properties;
+    }
+
+    String describe(String pattern, Callable<String> loader) throws Exception {
+        return get(DESCRIBE_KEY_PREFIX + pattern, loader);
+    }
+
+    long commitDepth(Callable<Long> loader) throws Exception {
+        return Long.parseLong(get(COMMIT_DEPTH_KEY, () -> Long.toString(loader.call())));
+    }
+
+    private String get(String key, Callable<String> loader) throws Exception {
+        synchronized (this) {
+            final var cached = entries.getProperty(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        final var value = loader.call();
+        if (file != null && value != null) {
+            synchronized (this) {
+                entries.setProperty(key, value);
+                modified = true;
+            }
+        }
+        return value;
+    }
+
+    synchronized int getHits() {
+        return hits;
+    }
+
+    synchronized int getMisses() {
+        return misses;
+    }
+
+    synchronized void store() {
+        if (file == null) {
+            return;
+        }
+        logger.info("Git cache {}: {} hits, {} misses.", file, hits, misses);
+        if (!modified) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            final var temporary = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            try (final var writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                entries.store(writer, null);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            logger.info("Failed to write git cache {}.", file);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.submodule.SubmoduleWalk;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class GitModules {
+    private static final String WORKTREES = "worktrees";
+    private static final String GITDIR = "gitdir";
+
+    private GitModules() {
+        throw new UnsupportedOperationException("Not meant to be instantiated.");
+    }
+
+    static List<Location> find(Repository repository) throws IOException {
+        final var locations = new ArrayList<Location>();
+        if (!repository.isBare()) {
+            findSubmodules(repository, locations);
+        }
+        findWorktrees(repository, locations);
+        return List.copyOf(locations);
+    }
+
+    private static void findSubmodules(Repository repository, List<Location> locations) throws IOException {
+        try (final var submoduleWalk = SubmoduleWalk.forIndex(repository)) {
+            while (submoduleWalk.next()) {
+                final var directory = submoduleWalk.getDirectory();
+                if (new File(directory, Constants.DOT_GIT).exists()) {
+                    locations.add(new Location(
+                            submoduleWalk.getPath(),
+                            GitService.Module.Kind.SUBMODULE,
+                            directory,
+                            submoduleWalk.getObjectId().copy()));
+                }
+            }
+        }
+    }
+
+    private static void findWorktrees(Repository repository, List<Location> locations) throws IOException {
+        final var worktrees = repository.getCommonDirectory().toPath().resolve(WORKTREES);
+        final var current = repository.getDirectory().toPath().toRealPath();
+        final List<Path> directories;
+        try (final Stream<Path> files = Files.list(worktrees)) {
+            directories = files.filter(Files::isDirectory).sorted(Comparator.naturalOrder()).toList();
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        for (final var directory : directories) {
+            final var workTree = readWorkTree(directory);
+            if (workTree != null && !directory.toRealPath().equals(current)) {
+                locations.add(new Location(
+                        directory.getFileName().toString(), GitService.Module.Kind.WORKTREE, workTree, null));
+            }
+        }
+    }
+
+    @Nullable
+    private static File readWorkTree(Path directory) throws IOException {
+        try {
+            final var gitDirectory = Files.readString(directory.resolve(GITDIR), StandardCharsets.UTF_8).strip();
+            final var dotGit = directory.resolve(gitDirectory);
+            return Files.exists(dotGit) ? dotGit.getParent().toFile() : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    record Location(String path, GitService.Module.Kind kind, File workTree, @Nullable ObjectId recorded) {}
+}
@@ -0,0 +1,31 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import javax.annotation.Nullable;
+
+interface GitOperations extends AutoCloseable {
+    String describe(String pattern) throws Exception;
+
+    default boolean isDirty() throws Exception {
+        return isDirty(true);
+    }
+
+    boolean isDirty(boolean submodules) throws Exception;
+
+    GitService.Commit head() throws Exception;
+
+    GitService.Commit commit(String revision) throws Exception;
+
+    String branch() throws Exception;
+
+    long commitDepth() throws Exception;
+
+    long commitDepth(String revision) throws Exception;
+
+    @Nullable
+    String lastCommit(String path) throws Exception;
+
+    Changelog changelog(String pattern, int releases) throws Exception;
+
+    @Override
+    void close();
+}
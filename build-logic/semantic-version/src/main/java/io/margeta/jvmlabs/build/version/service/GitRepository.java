@@ -0,0 +1,407 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.tooling.BuildException;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.eclipse.jgit.lib.ConfigConstants.CONFIG_COMMIT_GRAPH;
+import static org.eclipse.jgit.lib.ConfigConstants.CONFIG_CORE_SECTION;
+
+final class GitRepository implements AutoCloseable {
+    private static final Logger logger = Logging.getLogger(GitRepository.class);
+
+    private final Repository repository;
+    private final GitOperations gitOperations;
+    private final DirtyCheck dirtyCheck;
+    private final GitBackend backend;
+    private final @Nullable File cacheDirectory;
+    private final @Nullable Duration timeout;
+    private final boolean modules;
+    private final Map<String, CompletableFuture<?>> results = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> operations = new ConcurrentHashMap<>();
+    private final Timings timings = Timings.current();
+    private @Nullable GitCache cache;
+    private @Nullable FieldCollector collector;
+
+    private GitRepository(
+            Repository repository,
+            GitOperations gitOperations,
+            DirtyCheck dirtyCheck,
+            GitBackend backend,
+            @Nullable File cacheDirectory,
+            @Nullable Duration timeout,
+            boolean modules) {
+        this.repository = repository;
+        this.gitOperations = gitOperations;
+        this.dirtyCheck = dirtyCheck;
+        this.backend = backend;
+        this.cacheDirectory = cacheDirectory;
+        this.timeout = timeout;
+        this.modules = modules;
+    }
+
+    static GitRepository open(
+            File projectDirectory,
+            @Nullable File ceilingDirectory,
+            @Nullable File cacheDirectory,
+            DirtyCheck dirtyCheck,
+            GitBackend backend,
+            @Nullable Duration timeout,
+            boolean pooled,
+            boolean modules) {
+        final var repository = pooled
+                ? RepositoryPool.daemon().acquire(
+                        projectDirectory, ceilingDirectory, () -> findRepository(projectDirectory, ceilingDirectory))
+                : findRepository(projectDirectory, ceilingDirectory);
+        return new GitRepository(
+                repository,
+                backend.open(repository, dirtyCheck, cacheDirectory),
+                dirtyCheck,
+                backend,
+                cacheDirectory,
+                timeout,
+                modules);
+    }
+
+    private static Repository findRepository(File projectDirectory, @Nullable File ceilingDirectory) {
+        try {
+            final var repository = new FileRepositoryBuilder()
+                    .readEnvironment()
+                    .findGitDir(projectDirectory)
+                    .addCeilingDirectory(ceilingDirectory)
+                    .build();
+            final var config = repository.getConfig();
+            if (config.getString(CONFIG_CORE_SECTION, null, CONFIG_COMMIT_GRAPH) == null) {
+                config.setBoolean(CONFIG_CORE_SECTION, null, CONFIG_COMMIT_GRAPH, true);
+            }
+            return repository;
+        } catch (Exception e) {
+            throw new BuildException("An error occurred while finding the git repository.", e);
+        }
+    }
+
+    private <T> Optional<T> memoize(String key, Supplier<Optional<T>> loader) {
+        return memoized(key, loader, Runnable::run).join();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<Optional<T>> memoized(String key, Supplier<Optional<T>> loader, Executor executor) {
+        final var future = new CompletableFuture<Optional<T>>();
+        final var memoized = (CompletableFuture<Optional<T>>) results.putIfAbsent(key, future);
+        if (memoized != null) {
+            return memoized;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(loader.get());
+                } catch (Throwable e) {
+                    results.remove(key, future);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            results.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        return future;
+    }
+
+    private <T> CompletableFuture<Optional<T>> collect(
+            FieldCollector collector, String field, String key, Supplier<Optional<T>> loader) {
+        return collector.collect(field, memoized(key, loader, collector.getExecutor()));
+    }
+
+    private <T> T measure(String operation, Callable<T> action) throws Exception {
+        operations.computeIfAbsent(operation, it -> new LongAdder()).increment();
+        return timings.time("git." + operation, action);
+    }
+
+    long getOperationCount() {
+        return operations.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private synchronized GitCache getCache() {
+        if (cache == null) {
+            cache = GitCache.load(cacheDirectory, repository);
+        }
+        return cache;
+    }
+
+    private synchronized FieldCollector getCollector() {
+        if (collector == null) {
+            collector = new FieldCollector(timeout);
+        }
+        return collector;
+    }
+
+    private static String match(String pattern) {
+        return pattern.isBlank() ? "*" : pattern;
+    }
+
+    Optional<GitService.ObjectName> describe(String pattern) {
+        final var match = match(pattern);
+        return objectName(describeName(match), dirty());
+    }
+
+    private static Optional<GitService.ObjectName> objectName(Optional<String> describeName, Optional<Boolean> dirty) {
+        return describeName.flatMap(name -> dirty.map(it -> {
+            final var objectName = new StringJoiner("-").add(name);
+            if (it) {
+                objectName.add(GitService.ObjectName.DIRTY_TREE_VALUE);
+            }
+            return GitService.ObjectName.parse(objectName.toString());
+        }));
+    }
+
+    private Optional<String> describeName(String match) {
+        return memoize("describe." + match, () -> loadDescribeName(match));
+    }
+
+    private Optional<String> loadDescribeName(String match) {
+        try {
+            return Optional.of(
+                    getCache().describe(match, () -> measure("describe", () -> gitOperations.describe(match))));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Boolean> dirty() {
+        return memoize("dirtyCheck", this::loadDirty);
+    }
+
+    private Optional<Boolean> loadDirty() {
+        try {
+            return Optional.of(measure("dirtyCheck", () -> gitOperations.isDirty(!modules)));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    Optional<GitService.ObjectName> describeWithDepth(String pattern) {
+        return withDepth(describe(pattern), this::commitDepth);
+    }
+
+    private static Optional<GitService.ObjectName> withDepth(
+            Optional<GitService.ObjectName> objectName, Supplier<Optional<Long>> commitDepth) {
+        return objectName.map(it -> {
+            if (it.commitId() != null && it.depth() == null) {
+                return it.withDepth(commitDepth.get().map(d -> d - 1L).orElse(0L));
+            }
+            return it;
+        });
+    }
+
+    GitSnapshot snapshot(String pattern) {
+        final var match = match(pattern);
+        final var collector = getCollector();
+        final var head = collect(collector, "head", "head", this::loadHead);
+        final var branch = collect(collector, "branch", "branch", this::loadBranch);
+        final var describeName = collect(collector, "describe", "describe." + match, () -> loadDescribeName(match));
+        final var dirty = collect(collector, "dirty check", "dirtyCheck", this::loadDirty);
+        final var modules = collectModules(collector);
+        final var objectName = withDepth(
+                objectName(describeName.join(), dirty.join()),
+                () -> collect(collector, "commit depth", "commitDepth", this::loadCommitDepth).join());
+        final var collected = modules.stream().map(CompletableFuture::join).flatMap(Optional::stream).toList();
+        return new GitSnapshot(
+                head.join().orElse(null),
+                branch.join().orElse(null),
+                withModules(objectName, collected).orElse(null),
+                collected);
+    }
+
+    private List<CompletableFuture<Optional<GitService.Module>>> collectModules(FieldCollector collector) {
+        if (!modules) {
+            return List.of();
+        }
+        final List<GitModules.Location> locations;
+        try {
+            locations = GitModules.find(repository);
+        } catch (Exception ignored) {
+            return List.of();
+        }
+        return locations.stream()
+                .map(it -> collector.collect(
+                        "%s %s".formatted(it.kind().name().toLowerCase(), it.path()), () -> loadModule(it)))
+                .toList();
+    }
+
+    private Optional<GitService.Module> loadModule(GitModules.Location location) {
+        try (final var moduleRepository = new FileRepositoryBuilder()
+                        .setWorkTree(location.workTree())
+                        .setMustExist(true)
+                        .build();
+                final var moduleOperations =
+                        backend.open(moduleRepository, dirtyCheck, moduleCacheDirectory(location))) {
+            final var head = measure("module.head", moduleOperations::head);
+            final var describeName = measure("module.describe", () -> moduleOperations.describe(match("")));
+            final var dirty = measure("module.dirtyCheck", () -> moduleOperations.isDirty(false))
+                    || location.recorded() != null && !location.recorded().name().equals(head.id());
+            return Optional.of(new GitService.Module(
+                    location.path(),
+                    location.kind(),
+                    head,
+                    objectName(Optional.of(describeName), Optional.of(dirty)).orElse(null)));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    @Nullable
+    private File moduleCacheDirectory(GitModules.Location location) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+        return new File(
+                cacheDirectory, "modules/%s/%s".formatted(location.kind().name().toLowerCase(), location.path()));
+    }
+
+    private static Optional<GitService.ObjectName> withModules(
+            Optional<GitService.ObjectName> objectName, List<GitService.Module> modules) {
+        final var dirty = modules.stream()
+                .anyMatch(it -> it.kind() == GitService.Module.Kind.SUBMODULE
+                        && it.objectName() != null
+                        && it.objectName().treeState() == TreeState.DIRTY);
+        if (!dirty) {
+            return objectName;
+        }
+        return objectName.map(it -> new GitService.ObjectName(it.tag(), it.depth(), it.commitId(), TreeState.DIRTY));
+    }
+
+    Optional<GitSnapshot> snapshot(GitSnapshot snapshot, File directory) {
+        final var objectName = snapshot.objectName();
+        if (objectName == null || objectName.commitId() == null) {
+            return Optional.empty();
+        }
+        return relativePath(directory)
+                .filter(it -> !it.isEmpty())
+                .flatMap(path -> {
+                    final var headDepth = objectName.tag() == null || objectName.depth() == null
+                            ? Optional.<Long>empty()
+                            : commitDepth();
+                    return memoize("snapshot." + path, () -> loadSnapshot(snapshot, objectName, headDepth, path));
+                });
+    }
+
+    private Optional<String> relativePath(File directory) {
+        try {
+            final var workTree = repository.getWorkTree().getCanonicalFile().toPath();
+            final var path = directory.getCanonicalFile().toPath();
+            if (!path.startsWith(workTree)) {
+                return Optional.empty();
+            }
+            return Optional.of(workTree.relativize(path).toString().replace(File.separatorChar, '/'));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<GitSnapshot> loadSnapshot(
+            GitSnapshot snapshot, GitService.ObjectName objectName, Optional<Long> headDepth, String path) {
+        try {
+            final var lastCommit = measure("lastCommit", () -> gitOperations.lastCommit(path));
+            if (lastCommit == null || snapshot.head() != null && lastCommit.equals(snapshot.head().id())) {
+                return Optional.empty();
+            }
+            final var commit = measure("commit", () -> gitOperations.commit(lastCommit));
+            final var depth = measure("commitDepth", () -> gitOperations.commitDepth(lastCommit));
+            final var buildNumber = objectName.tag() == null || objectName.depth() == null
+                    ? depth - 1L
+                    : Math.max(0L, objectName.depth() - (headDepth.orElseThrow() - depth));
+            return Optional.of(new GitSnapshot(
+                    commit,
+                    snapshot.branch(),
+                    new GitService.ObjectName(
+                            objectName.tag(), buildNumber, commit.idAbbrev(), objectName.treeState()),
+                    snapshot.modules()));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    Optional<Changelog> changelog(String pattern, int releases) {
+        final var match = match(pattern);
+        return memoize("changelog.%s.%d".formatted(match, releases), () -> loadChangelog(match, releases));
+    }
+
+    private Optional<Changelog> loadChangelog(String match, int releases) {
+        try {
+            return Optional.of(measure("changelog", () -> gitOperations.changelog(match, releases)));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    Optional<GitService.Commit> head() {
+        return memoize("head", this::loadHead);
+    }
+
+    private Optional<GitService.Commit> loadHead() {
+        try {
+            return Optional.of(measure("head", gitOperations::head));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    Optional<String> branch() {
+        return memoize("branch", this::loadBranch);
+    }
+
+    private Optional<String> loadBranch() {
+        try {
+            return Optional.of(measure("branch", gitOperations::branch));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    Optional<Long> commitDepth() {
+        return memoize("commitDepth", this::loadCommitDepth);
+    }
+
+    private Optional<Long> loadCommitDepth() {
+        try {
+            return Optional.of(getCache().commitDepth(() -> measure("commitDepth", gitOperations::commitDepth)));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (collector != null) {
+            collector.close(this::release);
+        } else {
+            release();
+        }
+    }
+
+    private synchronized void release() {
+        logger.info("Performed {} git operations {}.", getOperationCount(), operations);
+        if (cache != null) {
+            cache.store();
+        }
+        gitOperations.close();
+        repository.close();
+    }
+}
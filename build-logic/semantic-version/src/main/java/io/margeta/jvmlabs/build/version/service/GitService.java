@@ -1,47 +1,64 @@
 package io.margeta.jvmlabs.build.version.service;
 
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.lib.Constants;
-import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
 import org.gradle.api.provider.Property;
 import org.gradle.api.services.BuildService;
 import org.gradle.api.services.BuildServiceParameters;
-import org.gradle.tooling.BuildException;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.Serializable;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.regex.Pattern;
-import java.util.stream.StreamSupport;
 
+import static io.margeta.jvmlabs.build.version.Preconditions.checkArgument;
 import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
 
 public abstract class GitService implements BuildService<GitService.Parameters>, AutoCloseable {
-    private Git git;
-
-    private Git getGit() {
-        if (git == null) {
-            git = Git.wrap(findRepository(
-                    getParameters().getProjectDirectory().get(),
-                    getParameters().getCeilingDirectory().getOrNull()));
+    private @Nullable GitRepository repository;
+    private @Nullable GitSnapshot snapshot;
+    private boolean opened;
+
+    private synchronized Optional<GitRepository> getRepository() {
+        if (!opened) {
+            final var dirtyCheck =
+                    DirtyCheck.parse(getParameters().getDirtyCheck().getOrElse(DirtyCheck.INDEX.name()));
+            final var backend = GitBackend.parse(getParameters().getBackend().getOrElse(GitBackend.JGIT.name()));
+            opened = true;
+            try {
+                repository = GitRepository.open(
+                        getParameters().getProjectDirectory().get(),
+                        getParameters().getCeilingDirectory().getOrNull(),
+                        getParameters().getCacheDirectory().getOrNull(),
+                        dirtyCheck,
+                        backend,
+                        getParameters().getTimeout().getOrNull(),
+                        getParameters().getRepositoryPool().getOrElse(false),
+                        getParameters().getModules().getOrElse(false));
+            } catch (Exception ignored) {
+                repository = null;
+            }
         }
-        return git;
+        return Optional.ofNullable(repository);
     }
 
-    private Repository findRepository(File projectDirectory, @Nullable File ceilingDirectory) {
-        try {
-            return new FileRepositoryBuilder()
-                    .readEnvironment()
-                    .findGitDir(projectDirectory)
-                    .addCeilingDirectory(ceilingDirectory)
-                    .build();
-        } catch (Exception e) {
-            throw new BuildException("An error occurred while finding the git repository.", e);
+    public synchronized GitSnapshot snapshot() {
+        if (snapshot == null) {
+            snapshot = Optional.ofNullable(getParameters().getSnapshot().getOrNull())
+                    .or(() -> getRepository()
+                            .map(it -> it.snapshot(getParameters().getTagPattern().getOrElse("*"))))
+                    .orElse(GitSnapshot.EMPTY);
         }
+        return snapshot;
+    }
+
+    public GitSnapshot snapshot(File directory) {
+        checkNotNull(directory, "directory");
+        final var snapshot = snapshot();
+        return getRepository().flatMap(it -> it.snapshot(snapshot, directory)).orElse(snapshot);
     }
 
     public Optional<ObjectName> describe() {
@@ -49,66 +66,39 @@ public abstract class GitService implements BuildService<GitService.Parameters>,
     }
 
     public Optional<ObjectName> describe(String pattern) {
-        if (pattern.isBlank()) {
-            pattern = "*";
-        }
-        try {
-            final var objectName = new StringJoiner("-");
-            final var desc = getGit().describe()
-                    .setTags(true)
-                    .setAlways(true)
-                    .setLong(true)
-                    .setMatch(pattern)
-                    .call();
-            objectName.add(desc);
-            if (getGit().status().call().hasUncommittedChanges()) {
-                objectName.add(ObjectName.DIRTY_TREE_VALUE);
-            }
-            return Optional.of(ObjectName.parse(objectName.toString()));
-        } catch (Exception ignored) {
-            return Optional.empty();
-        }
+        return getRepository().flatMap(it -> it.describe(pattern));
     }
 
     public Optional<Commit> head() {
-        try (final var objectReader = getGit().getRepository().newObjectReader()) {
-            final var revWalk = new RevWalk(getGit().getRepository());
-            final var head = revWalk.parseCommit(getGit().getRepository().resolve(Constants.HEAD));
-            return Optional.of(new Commit(
-                    head.name(),
-                    objectReader.abbreviate(head).name(),
-                    head.getShortMessage(),
-                    Instant.ofEpochSecond(head.getCommitTime()),
-                    head.getAuthorIdent().getEmailAddress(),
-                    head.getAuthorIdent().getName()));
-        } catch (Exception ignored) {
-            return Optional.empty();
-        }
+        return getRepository().flatMap(GitRepository::head);
     }
 
     public Optional<String> branch() {
-        try {
-            return Optional.of(getGit().getRepository().getBranch());
-        } catch (Exception ignored) {
-            return Optional.empty();
-        }
+        return getRepository().flatMap(GitRepository::branch);
     }
 
     public Optional<Long> commitDepth() {
-        try {
-            final var commits = getGit().log().call();
-            final var commitDepth =
-                    StreamSupport.stream(commits.spliterator(), false).count();
-            return Optional.of(commitDepth);
-        } catch (Exception ignored) {
-            return Optional.empty();
-        }
+        return getRepository().flatMap(GitRepository::commitDepth);
+    }
+
+    public List<Module> modules() {
+        return snapshot().modules();
+    }
+
+    public Optional<Changelog> changelog(String pattern, int releases) {
+        checkNotNull(pattern, "pattern");
+        checkArgument(releases > 0, "releases must be greater than zero");
+        return getRepository().flatMap(it -> it.changelog(pattern, releases));
+    }
+
+    synchronized long getOperationCount() {
+        return repository != null ? repository.getOperationCount() : 0L;
     }
 
     @Override
-    public void close() {
-        if (git != null) {
-            git.getRepository().close();
+    public synchronized void close() {
+        if (repository != null) {
+            repository.close();
         }
     }
 
@@ -116,14 +106,31 @@ public abstract class GitService implements BuildService<GitService.Parameters>,
         Property<File> getProjectDirectory();
 
         Property<File> getCeilingDirectory();
+
+        Property<File> getCacheDirectory();
+
+        Property<String> getDirtyCheck();
+
+        Property<String> getBackend();
+
+        Property<String> getTagPattern();
+
+        Property<Duration> getTimeout();
+
+        Property<Boolean> getRepositoryPool();
+
+        Property<Boolean> getModules();
+
+        Property<GitSnapshot> getSnapshot();
     }
 
     public record ObjectName(
-            @Nullable String tag, @Nullable Long depth, @Nullable String commitId, TreeState treeState) {
-        private static final String DIRTY_TREE_VALUE = "dirty";
+            @Nullable String tag, @Nullable Long depth, @Nullable String commitId, TreeState treeState)
+            implements Serializable {
+        static final String DIRTY_TREE_VALUE = "dirty";
 
         private static final Pattern parsePattern =
-                Pattern.compile("(?:([0-9a-f]{7,40})|(.*)-(\\d)-g([0-9a-f]{7,40}))(?:-(" + DIRTY_TREE_VALUE + "))?");
+                Pattern.compile("(?:([0-9a-f]{7,40})|(.*)-(\\d+)-g([0-9a-f]{7,40}))(?:-(" + DIRTY_TREE_VALUE + "))?");
 
         public static ObjectName parse(String input) {
             checkNotNull(input, "input");
@@ -149,7 +156,29 @@ public abstract class GitService implements BuildService<GitService.Parameters>,
         public ObjectName withDepth(Long value) {
             return new ObjectName(tag, value, commitId, treeState);
         }
+
+        public String format() {
+            final var objectName = new StringJoiner("-");
+            if (tag != null) {
+                objectName.add(tag).add(String.valueOf(depth)).add("g" + commitId);
+            } else {
+                objectName.add(String.valueOf(commitId));
+            }
+            if (treeState == TreeState.DIRTY) {
+                objectName.add(DIRTY_TREE_VALUE);
+            }
+            return objectName.toString();
+        }
+    }
+
+    public record Module(String path, Kind kind, @Nullable Commit head, @Nullable ObjectName objectName)
+            implements Serializable {
+        public enum Kind {
+            SUBMODULE,
+            WORKTREE
+        }
     }
 
-    public record Commit(String id, String idAbbrev, String message, Instant time, String userEmail, String userName) {}
+    public record Commit(String id, String idAbbrev, String message, Instant time, String userEmail, String userName)
+            implements Serializable {}
 }
@@ -0,0 +1,23 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.List;
+
+public record GitSnapshot(
+        @Nullable GitService.Commit head,
+        @Nullable String branch,
+        @Nullable GitService.ObjectName objectName,
+        List<GitService.Module> modules)
+        implements Serializable {
+    static final GitSnapshot EMPTY = new GitSnapshot(null, null, null);
+
+    public GitSnapshot {
+        modules = List.copyOf(modules);
+    }
+
+    public GitSnapshot(
+            @Nullable GitService.Commit head, @Nullable String branch, @Nullable GitService.ObjectName objectName) {
+        this(head, branch, objectName, List.of());
+    }
+}
@@ -0,0 +1,50 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.ValueSource;
+import org.gradle.api.provider.ValueSourceParameters;
+
+import java.io.File;
+import java.time.Duration;
+
+public abstract class GitSnapshotValueSource implements ValueSource<GitSnapshot, GitSnapshotValueSource.Parameters> {
+    @Override
+    public GitSnapshot obtain() {
+        final var parameters = getParameters();
+        final var dirtyCheck = DirtyCheck.parse(parameters.getDirtyCheck().getOrElse(DirtyCheck.INDEX.name()));
+        final var backend = GitBackend.parse(parameters.getBackend().getOrElse(GitBackend.JGIT.name()));
+        try (final var repository = GitRepository.open(
+                parameters.getProjectDirectory().get(),
+                parameters.getCeilingDirectory().getOrNull(),
+                parameters.getCacheDirectory().getOrNull(),
+                dirtyCheck,
+                backend,
+                parameters.getTimeout().getOrNull(),
+                parameters.getRepositoryPool().getOrElse(false),
+                parameters.getModules().getOrElse(false))) {
+            return repository.snapshot(parameters.getTagPattern().getOrElse("*"));
+        } catch (Exception ignored) {
+            return GitSnapshot.EMPTY;
+        }
+    }
+
+    public interface Parameters extends ValueSourceParameters {
+        Property<File> getProjectDirectory();
+
+        Property<File> getCeilingDirectory();
+
+        Property<File> getCacheDirectory();
+
+        Property<String> getDirtyCheck();
+
+        Property<String> getBackend();
+
+        Property<String> getTagPattern();
+
+        Property<Duration> getTimeout();
+
+        Property<Boolean> getRepositoryPool();
+
+        Property<Boolean> getModules();
+    }
+}
@@ -0,0 +1,128 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.dircache.DirCacheIterator;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.WorkingTreeOptions;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+final class IndexDirtyCheck {
+    private IndexDirtyCheck() {
+        throw new UnsupportedOperationException("Not meant to be instantiated.");
+    }
+
+    static boolean isDirty(Repository repository, boolean submodules) throws Exception {
+        final var dirCache = repository.readDirCache();
+        if (hasStagedChanges(repository, dirCache)) {
+            return true;
+        }
+        final var workTree = repository.getWorkTree().toPath();
+        final var indexModified = Files.getLastModifiedTime(repository.getIndexFile().toPath())
+                .toInstant();
+        final var checkExecutable = repository.getFS().supportsExecute()
+                && repository.getConfig().get(WorkingTreeOptions.KEY).isFileMode();
+        final var candidates = new ConcurrentLinkedQueue<String>();
+        try {
+            final var modified = IntStream.range(0, dirCache.getEntryCount())
+                    .parallel()
+                    .anyMatch(i -> isModified(
+                            workTree, dirCache.getEntry(i), indexModified, checkExecutable, submodules, candidates));
+            if (modified) {
+                return true;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return !candidates.isEmpty() && hasUncommittedChanges(repository, candidates);
+    }
+
+    private static boolean hasStagedChanges(Repository repository, DirCache dirCache) throws IOException {
+        try (final var treeWalk = new TreeWalk(repository)) {
+            final var head = repository.resolve(Constants.HEAD + "^{tree}");
+            if (head != null) {
+                treeWalk.addTree(head);
+            } else {
+                treeWalk.addTree(new EmptyTreeIterator());
+            }
+            treeWalk.addTree(new DirCacheIterator(dirCache));
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(TreeFilter.ANY_DIFF);
+            return treeWalk.next();
+        }
+    }
+
+    private static boolean isModified(
+            Path workTree,
+            DirCacheEntry entry,
+            Instant indexModified,
+            boolean checkExecutable,
+            boolean submodules,
+            Queue<String> candidates) {
+        if (entry.getStage() != DirCacheEntry.STAGE_0) {
+            return true;
+        }
+        if (entry.isAssumeValid() || entry.isSkipWorkTree()) {
+            return false;
+        }
+        final var mode = entry.getFileMode();
+        if (mode == FileMode.GITLINK) {
+            if (submodules) {
+                candidates.add(entry.getPathString());
+            }
+            return false;
+        }
+        final var path = workTree.resolve(entry.getPathString());
+        final BasicFileAttributes attributes;
+        try {
+            attributes = checkExecutable
+                    ? Files.readAttributes(path, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS)
+                    : Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (mode == FileMode.SYMLINK ? !attributes.isSymbolicLink() : !attributes.isRegularFile()) {
+            return true;
+        }
+        if ((int) attributes.size() != entry.getLength()
+                || !attributes.lastModifiedTime().toInstant().equals(entry.getLastModifiedInstant())
+                || entry.isSmudged()
+                || entry.mightBeRacilyClean(indexModified)
+                || attributes instanceof PosixFileAttributes posixAttributes
+                        && mode != FileMode.SYMLINK
+                        && (mode == FileMode.EXECUTABLE_FILE)
+                                != posixAttributes.permissions().contains(PosixFilePermission.OWNER_EXECUTE)) {
+            candidates.add(entry.getPathString());
+        }
+        return false;
+    }
+
+    private static boolean hasUncommittedChanges(Repository repository, Iterable<String> paths) throws Exception {
+        final var status = Git.wrap(repository).status();
+        for (final var path : paths) {
+            status.addPath(path);
+        }
+        return status.call().hasUncommittedChanges();
+    }
+}
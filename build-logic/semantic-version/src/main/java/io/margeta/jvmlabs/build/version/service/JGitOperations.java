@@ -0,0 +1,178 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTag;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+final class JGitOperations implements GitOperations {
+    private final Repository repository;
+    private final DirtyCheck dirtyCheck;
+    private final @Nullable File cacheDirectory;
+    private @Nullable CommitDepthIndex depthIndex;
+    private @Nullable PathCommitIndex pathIndex;
+    private @Nullable TagIndex tagIndex;
+
+    JGitOperations(Repository repository, DirtyCheck dirtyCheck, @Nullable File cacheDirectory) {
+        this.repository = repository;
+        this.dirtyCheck = dirtyCheck;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    private synchronized CommitDepthIndex getDepthIndex() {
+        if (depthIndex == null) {
+            depthIndex = CommitDepthIndex.load(cacheDirectory);
+        }
+        return depthIndex;
+    }
+
+    private synchronized PathCommitIndex getPathIndex() {
+        if (pathIndex == null) {
+            pathIndex = PathCommitIndex.load(cacheDirectory);
+        }
+        return pathIndex;
+    }
+
+    private synchronized TagIndex getTagIndex() {
+        if (tagIndex == null) {
+            tagIndex = TagIndex.load(cacheDirectory);
+        }
+        return tagIndex;
+    }
+
+    @Override
+    public String describe(String pattern) throws Exception {
+        final var head = resolveHead();
+        final var tagged = getTagIndex().tagged(repository, pattern);
+        try (final var objectReader = repository.newObjectReader();
+                final var revWalk = new RevWalk(objectReader)) {
+            final var abbreviation = objectReader.abbreviate(head).name();
+            final var described = DescribeWalk.walk(revWalk, head, tagged);
+            if (described == null) {
+                return abbreviation;
+            }
+            final var tag = selectTag(repository, revWalk, tagged.get(described.commit()));
+            return "%s-%d-g%s".formatted(tag, described.depth(), abbreviation);
+        }
+    }
+
+    static String selectTag(Repository repository, RevWalk revWalk, List<String> names) throws IOException {
+        if (names.size() == 1) {
+            return names.getFirst();
+        }
+        final var taggerTimes = new HashMap<String, Long>();
+        for (final var name : names) {
+            final var ref = repository.exactRef(Constants.R_TAGS + name);
+            final var object = ref != null ? revWalk.parseAny(ref.getObjectId()) : null;
+            final var tagger = object instanceof RevTag tag ? tag.getTaggerIdent() : null;
+            taggerTimes.put(name, tagger != null ? tagger.getWhenAsInstant().toEpochMilli() : Long.MIN_VALUE);
+        }
+        return names.stream()
+                .min(Comparator.<String>comparingLong(taggerTimes::get)
+                        .reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .orElseThrow();
+    }
+
+    @Override
+    public Changelog changelog(String pattern, int releases) throws Exception {
+        return ChangelogWalk.walk(repository, resolveHead(), getTagIndex().tagged(repository, pattern), releases);
+    }
+
+    @Override
+    public boolean isDirty(boolean submodules) throws Exception {
+        return dirtyCheck.isDirty(repository, submodules);
+    }
+
+    @Override
+    public GitService.Commit head() throws Exception {
+        return commit(resolveHead());
+    }
+
+    @Override
+    public GitService.Commit commit(String revision) throws Exception {
+        return commit(resolve(revision));
+    }
+
+    private GitService.Commit commit(ObjectId id) throws IOException {
+        try (final var objectReader = repository.newObjectReader();
+                final var revWalk = new RevWalk(objectReader)) {
+            return commit(objectReader, revWalk.parseCommit(id));
+        }
+    }
+
+    static GitService.Commit commit(ObjectReader objectReader, RevCommit commit) throws IOException {
+        return new GitService.Commit(
+                commit.name(),
+                objectReader.abbreviate(commit).name(),
+                commit.getShortMessage(),
+                Instant.ofEpochSecond(commit.getCommitTime()),
+                commit.getAuthorIdent().getEmailAddress(),
+                commit.getAuthorIdent().getName());
+    }
+
+    @Override
+    public String branch() throws Exception {
+        final var branch = repository.getBranch();
+        if (branch == null) {
+            throw new IOException("Failed to resolve the current branch.");
+        }
+        return branch;
+    }
+
+    @Override
+    public long commitDepth() throws Exception {
+        return getDepthIndex().commitDepth(repository, resolveHead());
+    }
+
+    @Override
+    public long commitDepth(String revision) throws Exception {
+        return getDepthIndex().commitDepth(repository, resolve(revision));
+    }
+
+    @Nullable
+    @Override
+    public String lastCommit(String path) throws Exception {
+        return getPathIndex().lastCommit(repository, resolveHead(), path).map(ObjectId::name).orElse(null);
+    }
+
+    private ObjectId resolveHead() throws IOException {
+        final var head = repository.resolve(Constants.HEAD);
+        if (head == null) {
+            throw new IOException("Failed to resolve the head commit.");
+        }
+        return head;
+    }
+
+    private ObjectId resolve(String revision) throws IOException {
+        final var id = repository.resolve(revision);
+        if (id == null) {
+            throw new IOException("Failed to resolve the %s commit.".formatted(revision));
+        }
+        return id;
+    }
+
+    @Override
+    public void close() {
+        if (depthIndex != null) {
+            depthIndex.store();
+        }
+        if (pathIndex != null) {
+            pathIndex.store();
+        }
+        if (tagIndex != null) {
+            tagIndex.store();
+        }
+    }
+}
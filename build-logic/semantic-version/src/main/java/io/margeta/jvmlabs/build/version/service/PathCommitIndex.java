@@ -0,0 +1,258 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.internal.storage.commitgraph.CommitGraph;
+import org.eclipse.jgit.internal.storage.commitgraph.CommitGraphLoader;
+import org.eclipse.jgit.internal.storage.file.ObjectDirectory;
+import org.eclipse.jgit.lib.ObjectDatabase;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+final class PathCommitIndex {
+    private static final Logger logger = Logging.getLogger(PathCommitIndex.class);
+    private static final String FILE_NAME = "path-commit.idx";
+    private static final String COMMIT_GRAPH_FILE = "info/commit-graph";
+    private static final String COMMIT_GRAPH_CHAIN_DIRECTORY = "info/commit-graphs";
+    private static final String COMMIT_GRAPH_CHAIN_FILE = "commit-graph-chain";
+
+    private final @Nullable Path file;
+    private final @Nullable ObjectId indexedHead;
+    private final Map<String, ObjectId> indexed;
+    private final Map<String, Optional<ObjectId>> commits = new LinkedHashMap<>();
+    private final Map<ObjectId, Set<String>> changedPaths = new HashMap<>();
+    private @Nullable ObjectId head;
+    private @Nullable List<CommitGraph> commitGraphs;
+    private int filtered;
+    private int compared;
+    private boolean modified;
+
+    private PathCommitIndex(@Nullable Path file, @Nullable ObjectId indexedHead, Map<String, ObjectId> indexed) {
+        this.file = file;
+        this.indexedHead = indexedHead;
+        this.indexed = indexed;
+    }
+
+    static PathCommitIndex load(@Nullable File directory) {
+        if (directory == null) {
+            return new PathCommitIndex(null, null, Map.of());
+        }
+        final var file = directory.toPath().resolve(FILE_NAME);
+        final var indexed = new HashMap<String, ObjectId>();
+        final var indexedHead = read(file, indexed);
+        return new PathCommitIndex(file, indexedHead, indexed);
+    }
+
+    @Nullable
+    private static ObjectId read(Path file, Map<String, ObjectId> indexed) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            final var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.isEmpty()) {
+                return null;
+            }
+            for (final var line : lines.subList(1, lines.size())) {
+                final var separator = line.indexOf(' ');
+                indexed.put(line.substring(separator + 1), ObjectId.fromString(line.substring(0, separator)));
+            }
+            return ObjectId.fromString(lines.getFirst());
+        } catch (IOException | RuntimeException e) {
+            logger.info("Failed to read path commit index {}.", file);
+            indexed.clear();
+            return null;
+        }
+    }
+
+    synchronized Optional<ObjectId> lastCommit(Repository repository, ObjectId head, String path) throws IOException {
+        if (!head.equals(this.head)) {
+            this.head = head.copy();
+            commits.clear();
+        }
+        final var resolved = commits.get(path);
+        if (resolved != null) {
+            return resolved;
+        }
+        final var commit = Optional.ofNullable(find(repository, head, path));
+        commits.put(path, commit);
+        modified = true;
+        return commit;
+    }
+
+    @Nullable
+    private ObjectId find(Repository repository, ObjectId head, String path) throws IOException {
+        final var indexedCommit = indexed.get(path);
+        if (indexedCommit != null && head.equals(indexedHead)) {
+            return orNull(indexedCommit);
+        }
+        final var rawPath = path.getBytes(StandardCharsets.UTF_8);
+        final var graphs = getCommitGraphs(repository);
+        try (final var reader = repository.newObjectReader();
+                final var revWalk = new RevWalk(reader)) {
+            revWalk.setFirstParent(true);
+            revWalk.markStart(revWalk.parseCommit(head));
+            for (final var commit : revWalk) {
+                if (indexedCommit != null && commit.equals(indexedHead)) {
+                    return orNull(indexedCommit);
+                }
+                if (changes(reader, revWalk, graphs, commit, path, rawPath)) {
+                    return commit.copy();
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static ObjectId orNull(ObjectId commit) {
+        return ObjectId.zeroId().equals(commit) ? null : commit;
+    }
+
+    private boolean changes(
+            ObjectReader reader,
+            RevWalk revWalk,
+            List<CommitGraph> graphs,
+            RevCommit commit,
+            String path,
+            byte[] rawPath)
+            throws IOException {
+        for (final var graph : graphs) {
+            final var position = graph.findGraphPosition(commit);
+            if (position < 0) {
+                continue;
+            }
+            final var filter = graph.getChangedPathFilter(position);
+            if (filter != null && !filter.maybeContains(rawPath)) {
+                filtered++;
+                return false;
+            }
+            break;
+        }
+        compared++;
+        var paths = changedPaths.get(commit);
+        if (paths == null) {
+            paths = changedPaths(reader, revWalk, commit);
+            changedPaths.put(commit.copy(), paths);
+        }
+        return paths.contains(path);
+    }
+
+    private static Set<String> changedPaths(ObjectReader reader, RevWalk revWalk, RevCommit commit)
+            throws IOException {
+        final var paths = new HashSet<String>();
+        try (final var treeWalk = new TreeWalk(reader)) {
+            if (commit.getParentCount() > 0) {
+                treeWalk.addTree(revWalk.parseCommit(commit.getParent(0)).getTree());
+            } else {
+                treeWalk.addTree(new EmptyTreeIterator());
+            }
+            treeWalk.addTree(commit.getTree());
+            treeWalk.setFilter(TreeFilter.ANY_DIFF);
+            while (treeWalk.next()) {
+                paths.add(treeWalk.getPathString());
+                if (treeWalk.isSubtree()) {
+                    treeWalk.enterSubtree();
+                }
+            }
+        }
+        return paths;
+    }
+
+    private List<CommitGraph> getCommitGraphs(Repository repository) {
+        if (commitGraphs == null) {
+            commitGraphs = readCommitGraphs(repository.getObjectDatabase());
+        }
+        return commitGraphs;
+    }
+
+    private static List<CommitGraph> readCommitGraphs(ObjectDatabase objectDatabase) {
+        if (!(objectDatabase instanceof ObjectDirectory objectDirectory)) {
+            return List.of();
+        }
+        final var graphs = new ArrayList<CommitGraph>();
+        readCommitGraph(new File(objectDirectory.getDirectory(), COMMIT_GRAPH_FILE), graphs);
+        final var chainDirectory = new File(objectDirectory.getDirectory(), COMMIT_GRAPH_CHAIN_DIRECTORY);
+        final var chainFile = new File(chainDirectory, COMMIT_GRAPH_CHAIN_FILE);
+        if (!chainFile.isFile()) {
+            return graphs;
+        }
+        try {
+            for (final var line : Files.readAllLines(chainFile.toPath(), StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    readCommitGraph(new File(chainDirectory, "graph-%s.graph".formatted(line.strip())), graphs);
+                }
+            }
+        } catch (IOException e) {
+            logger.info("Failed to read commit graph chain {}.", chainFile);
+        }
+        return graphs;
+    }
+
+    private static void readCommitGraph(File graphFile, List<CommitGraph> graphs) {
+        if (!graphFile.isFile()) {
+            return;
+        }
+        try (final var input = Files.newInputStream(graphFile.toPath())) {
+            graphs.add(CommitGraphLoader.read(input, true));
+        } catch (IOException | RuntimeException e) {
+            logger.info("Failed to read commit graph {}.", graphFile);
+        }
+    }
+
+    synchronized int getFiltered() {
+        return filtered;
+    }
+
+    synchronized int getCompared() {
+        return compared;
+    }
+
+    synchronized void store() {
+        if (file == null || head == null || !modified) {
+            return;
+        }
+        logger.info(
+                "Path commit index {}: {} commits skipped by changed-path filters, {} commits compared.",
+                file, filtered, compared);
+        final var entries = new LinkedHashMap<String, ObjectId>();
+        if (head.equals(indexedHead)) {
+            entries.putAll(indexed);
+        }
+        commits.forEach((path, commit) -> entries.put(path, commit.orElse(ObjectId.zeroId())));
+        try {
+            Files.createDirectories(file.getParent());
+            final var temporary = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            final var lines = new ArrayList<String>(entries.size() + 1);
+            lines.add(head.name());
+            entries.forEach((path, commit) -> lines.add(commit.name() + ' ' + path));
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            logger.info("Failed to write path commit index {}.", file);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.internal.storage.file.ObjectDirectory;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkArgument;
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+final class RepositoryPool {
+    private static final Logger logger = Logging.getLogger(RepositoryPool.class);
+    private static final int MAX_ENTRIES = 8;
+    private static final Set<String> WATCHED_FILES = Set.of(Constants.HEAD, Constants.PACKED_REFS);
+    private static final RepositoryPool daemon = new RepositoryPool(MAX_ENTRIES);
+
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int hits;
+    private int misses;
+
+    RepositoryPool(int maxEntries) {
+        checkArgument(maxEntries > 0, "maxEntries must be greater than zero");
+        this.maxEntries = maxEntries;
+    }
+
+    static RepositoryPool daemon() {
+        return daemon;
+    }
+
+    synchronized Repository acquire(
+            File projectDirectory, @Nullable File ceilingDirectory, Supplier<Repository> opener) {
+        checkNotNull(projectDirectory, "projectDirectory");
+        checkNotNull(opener, "opener");
+        final var key = new Key(projectDirectory.getAbsoluteFile(), ceilingDirectory);
+        final var entry = entries.get(key);
+        if (entry != null) {
+            final var change = entry.poll();
+            if (change == null) {
+                hits++;
+                entry.repository().incrementOpen();
+                logger.info("Reusing the pooled git repository {}.", entry.repository().getDirectory());
+                return entry.repository();
+            }
+            logger.info("Invalidated the pooled git repository {} after {} changed.",
+                    entry.repository().getDirectory(), change);
+            entries.remove(key);
+            entry.close();
+        }
+        misses++;
+        final var repository = opener.get();
+        try {
+            final var watched = Entry.watch(repository);
+            entries.put(key, watched);
+            evict();
+            repository.incrementOpen();
+        } catch (IOException e) {
+            logger.info("Failed to watch the git repository {}, not pooling it.", repository.getDirectory());
+        }
+        return repository;
+    }
+
+    private void evict() {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            final var eldest = iterator.next();
+            iterator.remove();
+            eldest.close();
+        }
+    }
+
+    synchronized int getHits() {
+        return hits;
+    }
+
+    synchronized int getMisses() {
+        return misses;
+    }
+
+    synchronized void clear() {
+        entries.values().forEach(Entry::close);
+        entries.clear();
+    }
+
+    private record Key(File projectDirectory, @Nullable File ceilingDirectory) {}
+
+    private record Entry(Repository repository, WatchService watchService, Path gitDirectory, Path commonDirectory) {
+        static Entry watch(Repository repository) throws IOException {
+            if (repository.getDirectory() == null
+                    || !(repository.getObjectDatabase() instanceof ObjectDirectory objectDirectory)) {
+                throw new IOException("Not a file repository.");
+            }
+            final var gitDirectory = repository.getDirectory().toPath();
+            final var commonDirectory = repository.getCommonDirectory().toPath();
+            final var watchService = FileSystems.getDefault().newWatchService();
+            try {
+                register(watchService, gitDirectory);
+                register(watchService, commonDirectory);
+                try (final Stream<Path> directories = Files.walk(commonDirectory.resolve(Constants.R_REFS))) {
+                    for (final var directory : directories.filter(Files::isDirectory).toList()) {
+                        register(watchService, directory);
+                    }
+                }
+                register(watchService, objectDirectory.getPackDirectory().toPath());
+            } catch (IOException | RuntimeException e) {
+                watchService.close();
+                throw e;
+            }
+            return new Entry(repository, watchService, gitDirectory, commonDirectory);
+        }
+
+        private static void register(WatchService watchService, Path directory) throws IOException {
+            if (Files.isDirectory(directory)) {
+                directory.register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+
+        @Nullable
+        Path poll() {
+            Path change = null;
+            for (var key = watchService.poll(); key != null; key = watchService.poll()) {
+                final var directory = (Path) key.watchable();
+                for (final var event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        change = directory;
+                    } else if (event.context() instanceof Path name && isWatched(directory, name)) {
+                        change = directory.resolve(name);
+                    }
+                }
+                if (!key.reset()) {
+                    change = directory;
+                }
+            }
+            return change;
+        }
+
+        private boolean isWatched(Path directory, Path name) {
+            if (directory.equals(gitDirectory) || directory.equals(commonDirectory)) {
+                return WATCHED_FILES.contains(name.toString());
+            }
+            return true;
+        }
+
+        void close() {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.info("Failed to stop watching the git repository {}.", gitDirectory);
+            }
+            repository.close();
+        }
+    }
+}
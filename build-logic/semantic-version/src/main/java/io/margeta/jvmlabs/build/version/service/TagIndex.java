@@ -0,0 +1,211 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.eclipse.jgit.errors.InvalidPatternException;
+import org.eclipse.jgit.fnmatch.FileNameMatcher;
+import org.eclipse.jgit.internal.storage.file.RefDirectory;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+final class TagIndex {
+    private static final Logger logger = Logging.getLogger(TagIndex.class);
+    private static final String FILE_NAME = "tag-index.idx";
+    private static final String PACKED_REFS_FILE = "packed-refs";
+    private static final String MATCH_ALL = "*";
+
+    private final @Nullable Path file;
+    private final @Nullable String indexedFingerprint;
+    private final Map<String, Tag> indexed;
+    private final Map<String, Map<ObjectId, List<String>>> tagged = new HashMap<>();
+    private @Nullable Map<String, Tag> tags;
+    private @Nullable String pendingFingerprint;
+    private int peeled;
+
+    private TagIndex(@Nullable Path file, @Nullable String indexedFingerprint, Map<String, Tag> indexed) {
+        this.file = file;
+        this.indexedFingerprint = indexedFingerprint;
+        this.indexed = indexed;
+    }
+
+    static TagIndex load(@Nullable File directory) {
+        if (directory == null) {
+            return new TagIndex(null, null, Map.of());
+        }
+        final var file = directory.toPath().resolve(FILE_NAME);
+        final var indexed = new LinkedHashMap<String, Tag>();
+        final var indexedFingerprint = read(file, indexed);
+        return new TagIndex(file, indexedFingerprint, indexed);
+    }
+
+    @Nullable
+    private static String read(Path file, Map<String, Tag> indexed) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (final Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            final var iterator = lines.iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            final var fingerprint = iterator.next();
+            while (iterator.hasNext()) {
+                final var line = iterator.next();
+                final var separator = line.indexOf(' ', Constants.OBJECT_ID_STRING_LENGTH + 1);
+                final var name = line.substring(separator + 1);
+                indexed.put(name, new Tag(
+                        ObjectId.fromString(line.substring(0, Constants.OBJECT_ID_STRING_LENGTH)),
+                        ObjectId.fromString(line.substring(Constants.OBJECT_ID_STRING_LENGTH + 1, separator))));
+            }
+            return fingerprint;
+        } catch (IOException | RuntimeException e) {
+            logger.info("Failed to read tag index {}.", file);
+            indexed.clear();
+            return null;
+        }
+    }
+
+    static @Nullable String fingerprint(Repository repository) {
+        if (!(repository.getRefDatabase() instanceof RefDirectory)) {
+            return null;
+        }
+        try {
+            final var digest = MessageDigest.getInstance("SHA-1");
+            final var directory = repository.getCommonDirectory().toPath();
+            update(digest, directory, directory.resolve(PACKED_REFS_FILE));
+            final var tagsDirectory = directory.resolve(Constants.R_TAGS);
+            if (Files.isDirectory(tagsDirectory)) {
+                try (final Stream<Path> files = Files.walk(tagsDirectory)) {
+                    for (final var tagFile : files.filter(Files::isRegularFile).sorted().toList()) {
+                        update(digest, directory, tagFile);
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static void update(MessageDigest digest, Path directory, Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        final var entry = "%s %d %d\n".formatted(
+                directory.relativize(file),
+                Files.size(file),
+                Files.getLastModifiedTime(file).to(TimeUnit.NANOSECONDS));
+        digest.update(entry.getBytes(StandardCharsets.UTF_8));
+    }
+
+    synchronized Map<ObjectId, List<String>> tagged(Repository repository, String pattern) throws IOException {
+        final var matching = tagged.get(pattern);
+        if (matching != null) {
+            return matching;
+        }
+        final @Nullable FileNameMatcher matcher;
+        try {
+            matcher = MATCH_ALL.equals(pattern) ? null : new FileNameMatcher(pattern, null);
+        } catch (InvalidPatternException e) {
+            throw new IOException("Failed to parse the tag pattern %s.".formatted(pattern), e);
+        }
+        final var commits = new HashMap<ObjectId, List<String>>();
+        getTags(repository).forEach((name, tag) -> {
+            if (matcher == null || matches(matcher, name)) {
+                commits.computeIfAbsent(tag.commit(), it -> new ArrayList<>(1)).add(name);
+            }
+        });
+        tagged.put(pattern, commits);
+        return commits;
+    }
+
+    private static boolean matches(FileNameMatcher matcher, String name) {
+        matcher.reset();
+        matcher.append(name);
+        return matcher.isMatch();
+    }
+
+    private Map<String, Tag> getTags(Repository repository) throws IOException {
+        if (tags != null) {
+            return tags;
+        }
+        final var fingerprint = fingerprint(repository);
+        if (fingerprint != null && fingerprint.equals(indexedFingerprint)) {
+            tags = indexed;
+            return tags;
+        }
+        final var refDatabase = repository.getRefDatabase();
+        final var current = new LinkedHashMap<String, Tag>();
+        for (final var ref : refDatabase.getRefsByPrefix(Constants.R_TAGS)) {
+            final var id = ref.getObjectId();
+            if (id == null) {
+                continue;
+            }
+            final var name = Repository.shortenRefName(ref.getName());
+            final var indexedTag = indexed.get(name);
+            if (indexedTag != null && indexedTag.id().equals(id)) {
+                current.put(name, indexedTag);
+                continue;
+            }
+            final var peeledRef = ref.isPeeled() ? ref : refDatabase.peel(ref);
+            final var commit = peeledRef.getPeeledObjectId() != null ? peeledRef.getPeeledObjectId() : id;
+            current.put(name, new Tag(id.copy(), commit.copy()));
+            peeled++;
+        }
+        logger.info("Tag index {}: {} tags, {} peeled.", file, current.size(), peeled);
+        pendingFingerprint = fingerprint;
+        tags = current;
+        return tags;
+    }
+
+    synchronized int getPeeled() {
+        return peeled;
+    }
+
+    synchronized void store() {
+        if (file == null || tags == null || pendingFingerprint == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            final var temporary = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            try (final var writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                writer.write(pendingFingerprint);
+                writer.newLine();
+                for (final Map.Entry<String, Tag> entry : tags.entrySet()) {
+                    writer.write(entry.getValue().id().name());
+                    writer.write(' ');
+                    writer.write(entry.getValue().commit().name());
+                    writer.write(' ');
+                    writer.write(entry.getKey());
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            pendingFingerprint = null;
+        } catch (IOException e) {
+            logger.info("Failed to write tag index {}.", file);
+        }
+    }
+
+    private record Tag(ObjectId id, ObjectId commit) {}
+}
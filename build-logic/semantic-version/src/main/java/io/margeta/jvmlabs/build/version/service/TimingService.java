@@ -0,0 +1,69 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public abstract class TimingService
+        implements BuildService<TimingService.Parameters>, OperationCompletionListener, AutoCloseable {
+    private static final Logger logger = Logging.getLogger(TimingService.class);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Timings timings = Timings.current();
+
+    @Override
+    public void onFinish(FinishEvent event) {}
+
+    @Override
+    public void close() {
+        final var summaries = timings.drain();
+        summaries.forEach((operation, it) -> logger.info(
+                "Timed {} {} times, total {} ms, p50 {} ms, p99 {} ms.",
+                operation,
+                it.count(),
+                millis(it.totalNanos()),
+                millis(it.p50Nanos()),
+                millis(it.p99Nanos())));
+        final var reportFile = getParameters().getReportFile().getOrNull();
+        if (reportFile != null) {
+            write(reportFile, summaries);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return "%.3f".formatted(nanos / NANOS_PER_MILLI);
+    }
+
+    private static void write(File reportFile, Map<String, Timings.Summary> summaries) {
+        final var operations = new StringJoiner(",\n", "{\n  \"operations\": [\n", "\n  ]\n}\n");
+        operations.setEmptyValue("{\n  \"operations\": []\n}\n");
+        summaries.forEach((operation, it) -> operations.add(
+                "    {\"name\": \"%s\", \"count\": %d, \"totalNanos\": %d, \"p50Nanos\": %d, \"p99Nanos\": %d}"
+                        .formatted(operation, it.count(), it.totalNanos(), it.p50Nanos(), it.p99Nanos())));
+        try {
+            final var file = reportFile.toPath();
+            Files.createDirectories(file.getParent());
+            final var temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.writeString(temporary, operations.toString(), StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.info("Failed to write timings report {}.", reportFile);
+        }
+    }
+
+    public interface Parameters extends BuildServiceParameters {
+        Property<File> getReportFile();
+    }
+}
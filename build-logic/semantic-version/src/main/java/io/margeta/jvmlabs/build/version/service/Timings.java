@@ -0,0 +1,66 @@
+package io.margeta.jvmlabs.build.version.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+public final class Timings {
+    private static final AtomicReference<Timings> current = new AtomicReference<>(new Timings());
+
+    private final Map<String, Queue<Long>> samples = new ConcurrentHashMap<>();
+
+    Timings() {}
+
+    public static Timings current() {
+        return current.get();
+    }
+
+    public <T> T time(String operation, Callable<T> action) throws Exception {
+        checkNotNull(operation, "operation");
+        checkNotNull(action, "action");
+        final var start = System.nanoTime();
+        try {
+            return action.call();
+        } finally {
+            record(operation, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String operation, long nanos) {
+        checkNotNull(operation, "operation");
+        samples.computeIfAbsent(operation, it -> new ConcurrentLinkedQueue<>()).add(nanos);
+    }
+
+    Map<String, Summary> drain() {
+        current.compareAndSet(this, new Timings());
+        final var summaries = new TreeMap<String, Summary>();
+        for (final var operation : samples.keySet()) {
+            final var queue = samples.remove(operation);
+            if (queue != null && !queue.isEmpty()) {
+                summaries.put(operation, Summary.of(queue.stream().mapToLong(Long::longValue).sorted().toArray()));
+            }
+        }
+        return summaries;
+    }
+
+    record Summary(int count, long totalNanos, long p50Nanos, long p99Nanos) {
+        static Summary of(long[] sorted) {
+            var total = 0L;
+            for (final var sample : sorted) {
+                total += sample;
+            }
+            return new Summary(sorted.length, total, percentile(sorted, 50), percentile(sorted, 99));
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            final var rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
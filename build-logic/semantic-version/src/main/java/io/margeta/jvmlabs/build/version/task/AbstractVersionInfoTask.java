@@ -0,0 +1,109 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+public abstract class AbstractVersionInfoTask extends DefaultTask {
+    @Input
+    public abstract Property<String> getProjectVersion();
+
+    @Input
+    @Optional
+    public abstract Property<String> getBranch();
+
+    @Input
+    @Optional
+    public abstract Property<String> getCommitId();
+
+    @Input
+    @Optional
+    public abstract Property<String> getCommitIdAbbrev();
+
+    @Input
+    @Optional
+    public abstract Property<String> getCommitMessage();
+
+    @Input
+    @Optional
+    public abstract Property<Instant> getCommitTime();
+
+    @Input
+    @Optional
+    public abstract Property<String> getCommitUserName();
+
+    @Input
+    @Optional
+    public abstract Property<String> getCommitUserEmail();
+
+    @Input
+    @Optional
+    public abstract Property<Long> getBuildNumber();
+
+    @Input
+    @Optional
+    public abstract Property<Boolean> getDirty();
+
+    @Input
+    @Optional
+    public abstract Property<String> getHost();
+
+    @Input
+    @Optional
+    public abstract MapProperty<String, String> getSubmodules();
+
+    @Input
+    @Optional
+    public abstract MapProperty<String, String> getWorktrees();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    protected VersionInfo makeVersionInfo() {
+        final var versionInfoBuilder = new VersionInfoBuilder();
+        setVersion(versionInfoBuilder);
+        setBuildInfo(versionInfoBuilder);
+        return versionInfoBuilder.build();
+    }
+
+    private void setVersion(VersionInfoBuilder versionInfoBuilder) {
+        versionInfoBuilder.version(getProjectVersion().get());
+    }
+
+    private void setBuildInfo(VersionInfoBuilder versionInfoBuilder) {
+        setCommitFields(versionInfoBuilder);
+        setBuildFields(versionInfoBuilder);
+    }
+
+    private void setCommitFields(VersionInfoBuilder versionInfoBuilder) {
+        if (!getCommitId().isPresent()) {
+            return;
+        }
+        versionInfoBuilder.branch(getBranch().getOrNull());
+        versionInfoBuilder.commitId(getCommitId().get());
+        versionInfoBuilder.commitIdAbbrev(getCommitIdAbbrev().getOrNull());
+        versionInfoBuilder.commitMessage(getCommitMessage().getOrNull());
+        versionInfoBuilder.commitTime(getCommitTime().map(it -> it.atOffset(ZoneOffset.UTC)).getOrNull());
+        versionInfoBuilder.commitUserName(getCommitUserName().getOrNull());
+        versionInfoBuilder.commitUserEmail(getCommitUserEmail().getOrNull());
+    }
+
+    private void setBuildFields(VersionInfoBuilder versionInfoBuilder) {
+        if (!getDirty().isPresent()) {
+            return;
+        }
+        versionInfoBuilder.buildNumber(getBuildNumber().getOrNull());
+        versionInfoBuilder.dirty(getDirty().get());
+        versionInfoBuilder.host(getHost().getOrNull());
+        versionInfoBuilder.submodules(getSubmodules().getOrElse(Map.of()));
+        versionInfoBuilder.worktrees(getWorktrees().getOrElse(Map.of()));
+    }
+}
@@ -0,0 +1,240 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.ConfigFormat;
+import com.electronwill.nightconfig.json.JsonFormat;
+import io.margeta.jvmlabs.build.version.service.Changelog;
+import io.margeta.jvmlabs.build.version.service.GitService;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+public abstract sealed class ChangelogFormatter {
+    public static final ChangelogFormatter MARKDOWN = new MarkdownFormatter();
+    public static final ChangelogFormatter JSON = new JsonFormatter();
+
+    private static final String UNRELEASED_TITLE = "Unreleased";
+    private static final Map<String, String> groupTitles = makeGroupTitles();
+
+    protected ChangelogFormatter() {}
+
+    public static ChangelogFormatter valueOf(String name) {
+        checkNotNull(name, "name");
+        return switch (name.toUpperCase()) {
+            case "MARKDOWN" -> MARKDOWN;
+            case "JSON" -> JSON;
+            default -> throw new IllegalArgumentException("Unsupported formatter '%s'.".formatted(name));
+        };
+    }
+
+    private static Map<String, String> makeGroupTitles() {
+        final var titles = new LinkedHashMap<String, String>();
+        titles.put("feat", "Features");
+        titles.put("fix", "Bug Fixes");
+        titles.put("perf", "Performance Improvements");
+        titles.put("refactor", "Code Refactoring");
+        titles.put("revert", "Reverts");
+        titles.put("docs", "Documentation");
+        titles.put("style", "Styles");
+        titles.put("test", "Tests");
+        titles.put("build", "Builds");
+        titles.put("ci", "Continuous Integration");
+        titles.put("chore", "Chores");
+        return titles;
+    }
+
+    public abstract String getFileName();
+
+    public String format(Changelog changelog, boolean conventionalCommits) {
+        final var writer = new StringWriter();
+        write(changelog, conventionalCommits, writer);
+        return writer.toString();
+    }
+
+    public abstract void write(Changelog changelog, boolean conventionalCommits, Writer writer);
+
+    boolean write(Path output, Changelog changelog, boolean conventionalCommits) throws IOException {
+        return VersionInfoFile.write(output, writer -> write(changelog, conventionalCommits, writer));
+    }
+
+    static Map<String, List<Entry>> group(List<GitService.Commit> commits) {
+        final var known = new TreeMap<Integer, List<Entry>>();
+        final var unknown = new LinkedHashMap<String, List<Entry>>();
+        final var other = new ArrayList<Entry>();
+        final var order = List.copyOf(groupTitles.keySet());
+        for (final var commit : commits) {
+            final var entry = new Entry(commit, ConventionalCommit.parse(commit.message()));
+            final var type = entry.conventionalCommit().type();
+            final var index = order.indexOf(type);
+            if (index >= 0) {
+                known.computeIfAbsent(index, it -> new ArrayList<>()).add(entry);
+            } else if (ConventionalCommit.OTHER_TYPE.equals(type)) {
+                other.add(entry);
+            } else {
+                unknown.computeIfAbsent(type, it -> new ArrayList<>()).add(entry);
+            }
+        }
+        final var groups = new LinkedHashMap<String, List<Entry>>();
+        known.forEach((index, entries) -> groups.put(order.get(index), entries));
+        groups.putAll(unknown);
+        if (!other.isEmpty()) {
+            groups.put(ConventionalCommit.OTHER_TYPE, other);
+        }
+        return groups;
+    }
+
+    static String groupTitle(String type) {
+        if (ConventionalCommit.OTHER_TYPE.equals(type)) {
+            return "Other Changes";
+        }
+        return groupTitles.getOrDefault(type, type);
+    }
+
+    record Entry(GitService.Commit commit, ConventionalCommit conventionalCommit) {}
+
+    private static final class MarkdownFormatter extends ChangelogFormatter {
+        @Override
+        public String getFileName() {
+            return "CHANGELOG.md";
+        }
+
+        @Override
+        public void write(Changelog changelog, boolean conventionalCommits, Writer writer) {
+            checkNotNull(changelog, "changelog");
+            checkNotNull(writer, "writer");
+            final var out = new PrintWriter(writer);
+            out.print("# Changelog\n");
+            for (final var release : changelog.releases()) {
+                out.print("\n## ");
+                if (release.tag() != null) {
+                    out.print(release.tag());
+                    out.print(" (");
+                    out.print(DateTimeFormatter.ISO_LOCAL_DATE.format(
+                            release.commits().getFirst().time().atOffset(ZoneOffset.UTC)));
+                    out.print(')');
+                } else {
+                    out.print(UNRELEASED_TITLE);
+                }
+                out.print('\n');
+                if (conventionalCommits) {
+                    writeGroups(out, release);
+                } else {
+                    out.print('\n');
+                    release.commits().forEach(it -> writeCommit(out, it.message(), it));
+                }
+            }
+            out.flush();
+        }
+
+        private static void writeGroups(PrintWriter out, Changelog.Release release) {
+            group(release.commits()).forEach((type, entries) -> {
+                out.print("\n### ");
+                out.print(groupTitle(type));
+                out.print("\n\n");
+                for (final var entry : entries) {
+                    final var conventionalCommit = entry.conventionalCommit();
+                    final var description = new StringBuilder();
+                    if (conventionalCommit.breaking()) {
+                        description.append("**BREAKING** ");
+                    }
+                    if (conventionalCommit.scope() != null) {
+                        description.append("**").append(conventionalCommit.scope()).append(":** ");
+                    }
+                    description.append(conventionalCommit.description());
+                    writeCommit(out, description, entry.commit());
+                }
+            });
+        }
+
+        private static void writeCommit(PrintWriter out, CharSequence description, GitService.Commit commit) {
+            out.print("- ");
+            out.print(description);
+            out.print(" (");
+            out.print(commit.idAbbrev());
+            out.print(")\n");
+        }
+    }
+
+    private static final class JsonFormatter extends ChangelogFormatter {
+        @Override
+        public String getFileName() {
+            return "changelog.json";
+        }
+
+        @Override
+        public void write(Changelog changelog, boolean conventionalCommits, Writer writer) {
+            checkNotNull(changelog, "changelog");
+            checkNotNull(writer, "writer");
+            final var format = JsonFormat.fancyInstance();
+            final var config = format.createConfig();
+            final var releases = new ArrayList<Config>(changelog.releases().size());
+            for (final var release : changelog.releases()) {
+                final var releaseConfig = format.createConfig();
+                if (release.tag() != null) {
+                    releaseConfig.set("tag", release.tag());
+                    releaseConfig.set("time", formatTime(release.commits().getFirst()));
+                }
+                if (conventionalCommits) {
+                    releaseConfig.set("groups", makeGroups(format, release));
+                } else {
+                    final var commits = new ArrayList<Config>(release.commits().size());
+                    release.commits().forEach(it -> commits.add(makeCommit(format, it)));
+                    releaseConfig.set("commits", commits);
+                }
+                releases.add(releaseConfig);
+            }
+            config.set("releases", releases);
+            format.createWriter().write(config, writer);
+        }
+
+        private static List<Config> makeGroups(ConfigFormat<? extends Config> format, Changelog.Release release) {
+            final var groups = new ArrayList<Config>();
+            group(release.commits()).forEach((type, entries) -> {
+                final var groupConfig = format.createConfig();
+                groupConfig.set("type", type);
+                groupConfig.set("title", groupTitle(type));
+                final var commits = new ArrayList<Config>(entries.size());
+                for (final var entry : entries) {
+                    final var commitConfig = makeCommit(format, entry.commit());
+                    final var conventionalCommit = entry.conventionalCommit();
+                    if (conventionalCommit.scope() != null) {
+                        commitConfig.set("scope", conventionalCommit.scope());
+                    }
+                    commitConfig.set("breaking", conventionalCommit.breaking());
+                    commitConfig.set("description", conventionalCommit.description());
+                    commits.add(commitConfig);
+                }
+                groupConfig.set("commits", commits);
+                groups.add(groupConfig);
+            });
+            return groups;
+        }
+
+        private static Config makeCommit(ConfigFormat<? extends Config> format, GitService.Commit commit) {
+            final var commitConfig = format.createConfig();
+            commitConfig.set("id", commit.id());
+            commitConfig.set("idAbbrev", commit.idAbbrev());
+            commitConfig.set("message", commit.message());
+            commitConfig.set("time", formatTime(commit));
+            commitConfig.set("userName", commit.userName());
+            commitConfig.set("userEmail", commit.userEmail());
+            return commitConfig;
+        }
+
+        private static String formatTime(GitService.Commit commit) {
+            return DateTimeFormatter.ISO_INSTANT.format(commit.time());
+        }
+    }
+}
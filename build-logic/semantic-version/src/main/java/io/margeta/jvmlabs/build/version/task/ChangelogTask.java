@@ -0,0 +1,55 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import io.margeta.jvmlabs.build.version.service.Changelog;
+import io.margeta.jvmlabs.build.version.service.GitService;
+import io.margeta.jvmlabs.build.version.service.Timings;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.UntrackedTask;
+import org.gradle.tooling.BuildException;
+
+@UntrackedTask(because = "The changelog depends on the tags of the git repository.")
+public abstract class ChangelogTask extends DefaultTask {
+    @Internal
+    public abstract Property<GitService> getGitService();
+
+    @Input
+    public abstract Property<String> getTagPattern();
+
+    @Input
+    public abstract Property<Integer> getReleases();
+
+    @Input
+    public abstract Property<String> getFormatter();
+
+    @Input
+    public abstract Property<Boolean> getConventionalCommits();
+
+    @OutputFile
+    public abstract RegularFileProperty getOutputFile();
+
+    @TaskAction
+    public void writeOutput() {
+        final var changelog = getGitService()
+                .get()
+                .changelog(getTagPattern().get(), getReleases().get())
+                .orElse(Changelog.EMPTY);
+        try {
+            Timings.current().time("changelog.serialize", () -> {
+                final var output = getOutputFile().get().getAsFile().toPath();
+                final var formatter = ChangelogFormatter.valueOf(getFormatter().get());
+                if (!formatter.write(output, changelog, getConventionalCommits().get())) {
+                    getLogger().info("Changelog file {} is unchanged.", output);
+                }
+                return output;
+            });
+        } catch (Exception e) {
+            throw new BuildException("An error occurred while writing the changelog to a file.", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import javax.annotation.Nullable;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+record ConventionalCommit(String type, @Nullable String scope, boolean breaking, String description) {
+    static final String OTHER_TYPE = "other";
+
+    static ConventionalCommit parse(String message) {
+        checkNotNull(message, "message");
+        final var separator = message.indexOf(": ");
+        if (separator <= 0) {
+            return other(message);
+        }
+        var end = separator;
+        final var breaking = message.charAt(end - 1) == '!';
+        if (breaking) {
+            end--;
+        }
+        String scope = null;
+        if (end > 0 && message.charAt(end - 1) == ')') {
+            final var scopeStart = message.lastIndexOf('(', end - 1);
+            if (scopeStart <= 0 || scopeStart >= end - 2) {
+                return other(message);
+            }
+            scope = message.substring(scopeStart + 1, end - 1);
+            end = scopeStart;
+        }
+        if (!isType(message, end)) {
+            return other(message);
+        }
+        return new ConventionalCommit(
+                message.substring(0, end).toLowerCase(), scope, breaking, message.substring(separator + 2).strip());
+    }
+
+    private static boolean isType(String message, int end) {
+        if (end == 0) {
+            return false;
+        }
+        for (var i = 0; i < end; i++) {
+            final var c = message.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ConventionalCommit other(String message) {
+        return new ConventionalCommit(OTHER_TYPE, null, false, message);
+    }
+}
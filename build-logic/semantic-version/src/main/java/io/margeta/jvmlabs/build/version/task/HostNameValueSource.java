@@ -0,0 +1,49 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.ValueSource;
+import org.gradle.api.provider.ValueSourceParameters;
+
+import javax.annotation.Nullable;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public abstract class HostNameValueSource implements ValueSource<String, HostNameValueSource.Parameters> {
+    private static final Logger logger = Logging.getLogger(HostNameValueSource.class);
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(2L);
+
+    @Nullable
+    @Override
+    public String obtain() {
+        final var timeout = getParameters().getTimeout().getOrElse(DEFAULT_TIMEOUT);
+        final var hostName = new CompletableFuture<String>();
+        Thread.ofVirtual().name("semantic-version-host-name-lookup").start(() -> {
+            try {
+                hostName.complete(InetAddress.getLocalHost().getHostName());
+            } catch (Exception e) {
+                hostName.completeExceptionally(e);
+            }
+        });
+        try {
+            return hostName.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Timed out resolving host name after {} ms.", timeout.toMillis());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            logger.warn("Failed to resolve host name.");
+            return null;
+        }
+    }
+
+    public interface Parameters extends ValueSourceParameters {
+        Property<Duration> getTimeout();
+    }
+}
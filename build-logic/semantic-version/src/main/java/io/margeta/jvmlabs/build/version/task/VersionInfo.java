@@ -2,6 +2,7 @@ package io.margeta.jvmlabs.build.version.task;
 
 import javax.annotation.Nullable;
 import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 
@@ -17,6 +18,8 @@ public final class VersionInfo {
     private final @Nullable Long buildNumber;
     private final @Nullable Boolean dirty;
     private final @Nullable String host;
+    private final Map<String, String> submodules;
+    private final Map<String, String> worktrees;
 
     VersionInfo(VersionInfoBuilder builder) {
         version = builder.version;
@@ -30,6 +33,8 @@ public final class VersionInfo {
         buildNumber = builder.buildNumber;
         dirty = builder.dirty;
         host = builder.host;
+        submodules = builder.submodules;
+        worktrees = builder.worktrees;
     }
 
     static VersionInfoBuilder makeBuilder() {
@@ -130,6 +135,22 @@ public final class VersionInfo {
         return host != null;
     }
 
+    public Map<String, String> getSubmodules() {
+        return submodules;
+    }
+
+    public boolean hasSubmodules() {
+        return !submodules.isEmpty();
+    }
+
+    public Map<String, String> getWorktrees() {
+        return worktrees;
+    }
+
+    public boolean hasWorktrees() {
+        return !worktrees.isEmpty();
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) {
@@ -146,7 +167,9 @@ public final class VersionInfo {
                 && Objects.equals(commitUserEmail, that.commitUserEmail)
                 && Objects.equals(buildNumber, that.buildNumber)
                 && Objects.equals(dirty, that.dirty)
-                && Objects.equals(host, that.host);
+                && Objects.equals(host, that.host)
+                && submodules.equals(that.submodules)
+                && worktrees.equals(that.worktrees);
     }
 
     @Override
@@ -162,6 +185,8 @@ public final class VersionInfo {
         result = 31 * result + (buildNumber != null ? buildNumber.hashCode() : 0);
         result = 31 * result + (dirty != null ? dirty.hashCode() : 0);
         result = 31 * result + (host != null ? host.hashCode() : 0);
+        result = 31 * result + submodules.hashCode();
+        result = 31 * result + worktrees.hashCode();
         return result;
     }
 
@@ -179,6 +204,8 @@ public final class VersionInfo {
                 .add("buildNumber=" + buildNumber)
                 .add("dirty=" + dirty)
                 .add("host='" + host + "'")
+                .add("submodules=" + submodules)
+                .add("worktrees=" + worktrees)
                 .toString();
     }
 }
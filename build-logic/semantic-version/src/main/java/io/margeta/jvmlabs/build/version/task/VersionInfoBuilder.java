@@ -2,8 +2,11 @@ package io.margeta.jvmlabs.build.version.task;
 
 import javax.annotation.Nullable;
 import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.TreeMap;
 
 import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
 
@@ -40,6 +43,10 @@ final class VersionInfoBuilder {
     @Nullable
     String host;
 
+    Map<String, String> submodules = Map.of();
+
+    Map<String, String> worktrees = Map.of();
+
     public VersionInfoBuilder version(String version) {
         checkNotNull(version, "version");
         this.version = version;
@@ -96,6 +103,18 @@ final class VersionInfoBuilder {
         return this;
     }
 
+    public VersionInfoBuilder submodules(Map<String, String> submodules) {
+        checkNotNull(submodules, "submodules");
+        this.submodules = Collections.unmodifiableMap(new TreeMap<>(submodules));
+        return this;
+    }
+
+    public VersionInfoBuilder worktrees(Map<String, String> worktrees) {
+        checkNotNull(worktrees, "worktrees");
+        this.worktrees = Collections.unmodifiableMap(new TreeMap<>(worktrees));
+        return this;
+    }
+
     public VersionInfo build() {
         checkNotNull(version, "version");
         return new VersionInfo(this);
@@ -117,7 +136,9 @@ final class VersionInfoBuilder {
                 && Objects.equals(commitUserEmail, that.commitUserEmail)
                 && Objects.equals(buildNumber, that.buildNumber)
                 && Objects.equals(dirty, that.dirty)
-                && Objects.equals(host, that.host);
+                && Objects.equals(host, that.host)
+                && submodules.equals(that.submodules)
+                && worktrees.equals(that.worktrees);
     }
 
     @Override
@@ -133,6 +154,8 @@ final class VersionInfoBuilder {
         result = 31 * result + (buildNumber != null ? buildNumber.hashCode() : 0);
         result = 31 * result + (dirty != null ? dirty.hashCode() : 0);
         result = 31 * result + (host != null ? host.hashCode() : 0);
+        result = 31 * result + submodules.hashCode();
+        result = 31 * result + worktrees.hashCode();
         return result;
     }
 
@@ -150,6 +173,8 @@ final class VersionInfoBuilder {
                 .add("buildNumber=" + buildNumber)
                 .add("dirty=" + dirty)
                 .add("host='" + host + "'")
+                .add("submodules=" + submodules)
+                .add("worktrees=" + worktrees)
                 .toString();
     }
 }
@@ -0,0 +1,110 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+final class VersionInfoFile {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    private VersionInfoFile() {}
+
+    static boolean write(Path output, Consumer<Writer> contentWriter) throws IOException {
+        final var buffers = VersionInfoFile.buffers.get();
+        return write(output, buffers.encode(contentWriter), buffers);
+    }
+
+    static boolean write(Path output, ByteBuffer content) throws IOException {
+        return write(output, content, buffers.get());
+    }
+
+    private static boolean write(Path output, ByteBuffer content, Buffers buffers) throws IOException {
+        if (buffers.matches(output, content)) {
+            return false;
+        }
+        final var temporary = output.resolveSibling("%s.%s.tmp".formatted(output.getFileName(), UUID.randomUUID()));
+        try {
+            try (final var channel = FileChannel.open(temporary, CREATE_NEW, WRITE)) {
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+            }
+            move(temporary, output);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return true;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, REPLACE_EXISTING);
+        }
+    }
+
+    private static final class Buffers {
+        private final StringWriter chars = new StringWriter(INITIAL_CAPACITY);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private ByteBuffer content = ByteBuffer.allocate(INITIAL_CAPACITY);
+        private ByteBuffer existing = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+        private ByteBuffer encode(Consumer<Writer> contentWriter) throws CharacterCodingException {
+            chars.getBuffer().setLength(0);
+            contentWriter.accept(chars);
+            final var input = CharBuffer.wrap(chars.getBuffer());
+            final var capacity = (int) Math.ceil(input.remaining() * (double) encoder.maxBytesPerChar());
+            if (content.capacity() < capacity) {
+                content = ByteBuffer.allocate(capacity);
+            }
+            content.clear();
+            encoder.reset();
+            final var result = encoder.encode(input, content, true);
+            if (!result.isUnderflow()) {
+                result.throwException();
+            }
+            encoder.flush(content);
+            return content.flip();
+        }
+
+        private boolean matches(Path output, ByteBuffer content) throws IOException {
+            try (final var channel = FileChannel.open(output, READ)) {
+                if (channel.size() != content.remaining()) {
+                    return false;
+                }
+                if (existing.capacity() < content.remaining()) {
+                    existing = ByteBuffer.allocate(content.capacity());
+                }
+                existing.clear().limit(content.remaining());
+                while (existing.hasRemaining()) {
+                    if (channel.read(existing) < 0) {
+                        return false;
+                    }
+                }
+                return existing.flip().equals(content);
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+        }
+    }
+}
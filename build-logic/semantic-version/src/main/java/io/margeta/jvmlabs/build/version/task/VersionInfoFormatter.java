@@ -6,12 +6,24 @@ import com.electronwill.nightconfig.hocon.HoconFormat;
 import com.electronwill.nightconfig.json.JsonFormat;
 import com.electronwill.nightconfig.toml.TomlFormat;
 import com.electronwill.nightconfig.yaml.YamlFormat;
+import io.margeta.jvmlabs.build.version.reader.VersionInfoBinaryFormat;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 
+import static io.margeta.jvmlabs.build.version.Preconditions.checkArgument;
 import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
 
 public abstract sealed class VersionInfoFormatter {
@@ -19,6 +31,7 @@ public abstract sealed class VersionInfoFormatter {
     public static final VersionInfoFormatter YAML = new YamlFormatter();
     public static final VersionInfoFormatter HOCON = new HoconFormatter();
     public static final VersionInfoFormatter JSON = new JsonFormatter();
+    public static final VersionInfoFormatter BINARY = new BinaryFormatter();
 
     protected VersionInfoFormatter() {}
 
@@ -29,117 +42,162 @@ public abstract sealed class VersionInfoFormatter {
             case "YAML" -> YAML;
             case "HOCON" -> HOCON;
             case "JSON" -> JSON;
+            case "BINARY" -> BINARY;
             default -> throw new IllegalArgumentException("Unsupported formatter '%s'.".formatted(name));
         };
     }
 
-    public String format(VersionInfo model) {
-        final var format = makeFormat();
-        final var config = format.createConfig();
-        setVersion(config, model);
-        setBranch(config, model);
-        setCommitId(config, model);
-        setCommitIdAbbrev(config, model);
-        setCommitMessage(config, model);
-        setCommitTime(config, model);
-        setCommitUserName(config, model);
-        setCommitUserEmail(config, model);
-        setBuildNumber(config, model);
-        setDirty(config, model);
-        setHost(config, model);
-        return format.createWriter().writeToString(config);
+    public abstract ByteBuffer encode(VersionInfo model);
+
+    boolean write(Path output, VersionInfo model) throws IOException {
+        return VersionInfoFile.write(output, encode(model));
     }
 
-    @SuppressWarnings("java:S1452")
-    protected abstract ConfigFormat<? extends Config> makeFormat();
+    public abstract static sealed class TextFormatter extends VersionInfoFormatter {
+        @Override
+        public ByteBuffer encode(VersionInfo model) {
+            return StandardCharsets.UTF_8.encode(format(model));
+        }
 
-    private void setVersion(Config config, VersionInfo model) {
-        setVersion(config, model.getVersion());
-    }
+        @Override
+        boolean write(Path output, VersionInfo model) throws IOException {
+            return VersionInfoFile.write(output, writer -> write(model, writer));
+        }
 
-    protected abstract void setVersion(Config config, String version);
+        public String format(VersionInfo model) {
+            final var writer = new StringWriter();
+            write(model, writer);
+            return writer.toString();
+        }
 
-    private void setBranch(Config config, VersionInfo model) {
-        if (model.hasBranch()) {
-            setBranch(config, model.getBranch());
+        public void write(VersionInfo model, Writer writer) {
+            checkNotNull(model, "model");
+            checkNotNull(writer, "writer");
+            final var format = makeFormat();
+            final var config = format.createConfig();
+            setVersion(config, model);
+            setBranch(config, model);
+            setCommitId(config, model);
+            setCommitIdAbbrev(config, model);
+            setCommitMessage(config, model);
+            setCommitTime(config, model);
+            setCommitUserName(config, model);
+            setCommitUserEmail(config, model);
+            setBuildNumber(config, model);
+            setDirty(config, model);
+            setHost(config, model);
+            setSubmodules(config, model);
+            setWorktrees(config, model);
+            format.createWriter().write(config, writer);
         }
-    }
 
-    protected abstract void setBranch(Config config, String branch);
+        @SuppressWarnings("java:S1452")
+        protected abstract ConfigFormat<? extends Config> makeFormat();
 
-    private void setCommitId(Config config, VersionInfo model) {
-        if (model.hasCommitId()) {
-            setCommitId(config, model.getCommitId());
+        private void setVersion(Config config, VersionInfo model) {
+            setVersion(config, model.getVersion());
         }
-    }
 
-    protected abstract void setCommitId(Config config, String commitId);
+        protected abstract void setVersion(Config config, String version);
 
-    private void setCommitIdAbbrev(Config config, VersionInfo model) {
-        if (model.hasCommitIdAbbrev()) {
-            setCommitIdAbbrev(config, model.getCommitIdAbbrev());
+        private void setBranch(Config config, VersionInfo model) {
+            if (model.hasBranch()) {
+                setBranch(config, model.getBranch());
+            }
         }
-    }
 
-    protected abstract void setCommitIdAbbrev(Config config, String commitIdAbbrev);
+        protected abstract void setBranch(Config config, String branch);
 
-    private void setCommitMessage(Config config, VersionInfo model) {
-        if (model.hasCommitMessage()) {
-            setCommitMessage(config, model.getCommitMessage());
+        private void setCommitId(Config config, VersionInfo model) {
+            if (model.hasCommitId()) {
+                setCommitId(config, model.getCommitId());
+            }
         }
-    }
 
-    protected abstract void setCommitMessage(Config config, String commitMessage);
+        protected abstract void setCommitId(Config config, String commitId);
 
-    private void setCommitTime(Config config, VersionInfo model) {
-        if (model.hasCommitTime()) {
-            setCommitTime(config, model.getCommitTime());
+        private void setCommitIdAbbrev(Config config, VersionInfo model) {
+            if (model.hasCommitIdAbbrev()) {
+                setCommitIdAbbrev(config, model.getCommitIdAbbrev());
+            }
         }
-    }
 
-    protected abstract void setCommitTime(Config config, OffsetDateTime commitTime);
+        protected abstract void setCommitIdAbbrev(Config config, String commitIdAbbrev);
 
-    private void setCommitUserName(Config config, VersionInfo model) {
-        if (model.hasCommitUserName()) {
-            setCommitUserName(config, model.getCommitUserName());
+        private void setCommitMessage(Config config, VersionInfo model) {
+            if (model.hasCommitMessage()) {
+                setCommitMessage(config, model.getCommitMessage());
+            }
         }
-    }
 
-    protected abstract void setCommitUserName(Config config, String commitUserName);
+        protected abstract void setCommitMessage(Config config, String commitMessage);
 
-    private void setCommitUserEmail(Config config, VersionInfo model) {
-        if (model.hasCommitUserEmail()) {
-            setCommitUserEmail(config, model.getCommitUserEmail());
+        private void setCommitTime(Config config, VersionInfo model) {
+            if (model.hasCommitTime()) {
+                setCommitTime(config, model.getCommitTime());
+            }
         }
-    }
 
-    protected abstract void setCommitUserEmail(Config config, String commitUserEmail);
+        protected abstract void setCommitTime(Config config, OffsetDateTime commitTime);
 
-    private void setDirty(Config config, VersionInfo model) {
-        if (model.hasDirty()) {
-            setDirty(config, model.getDirty());
+        private void setCommitUserName(Config config, VersionInfo model) {
+            if (model.hasCommitUserName()) {
+                setCommitUserName(config, model.getCommitUserName());
+            }
         }
-    }
 
-    private void setBuildNumber(Config config, VersionInfo model) {
-        if (model.hasBuildNumber()) {
-            setBuildNumber(config, model.getBuildNumber());
+        protected abstract void setCommitUserName(Config config, String commitUserName);
+
+        private void setCommitUserEmail(Config config, VersionInfo model) {
+            if (model.hasCommitUserEmail()) {
+                setCommitUserEmail(config, model.getCommitUserEmail());
+            }
         }
-    }
 
-    protected abstract void setBuildNumber(Config config, Long buildNumber);
+        protected abstract void setCommitUserEmail(Config config, String commitUserEmail);
 
-    protected abstract void setDirty(Config config, Boolean dirty);
+        private void setDirty(Config config, VersionInfo model) {
+            if (model.hasDirty()) {
+                setDirty(config, model.getDirty());
+            }
+        }
 
-    private void setHost(Config config, VersionInfo model) {
-        if (model.hasHost()) {
-            setHost(config, model.getHost());
+        private void setBuildNumber(Config config, VersionInfo model) {
+            if (model.hasBuildNumber()) {
+                setBuildNumber(config, model.getBuildNumber());
+            }
+        }
+
+        protected abstract void setBuildNumber(Config config, Long buildNumber);
+
+        protected abstract void setDirty(Config config, Boolean dirty);
+
+        private void setHost(Config config, VersionInfo model) {
+            if (model.hasHost()) {
+                setHost(config, model.getHost());
+            }
+        }
+
+        protected abstract void setHost(Config config, String host);
+
+        private void setSubmodules(Config config, VersionInfo model) {
+            if (model.hasSubmodules()) {
+                setSubmodules(config, model.getSubmodules());
+            }
         }
-    }
 
-    protected abstract void setHost(Config config, String host);
+        protected abstract void setSubmodules(Config config, Map<String, String> submodules);
 
-    private static final class TomlFormatter extends VersionInfoFormatter {
+        private void setWorktrees(Config config, VersionInfo model) {
+            if (model.hasWorktrees()) {
+                setWorktrees(config, model.getWorktrees());
+            }
+        }
+
+        protected abstract void setWorktrees(Config config, Map<String, String> worktrees);
+    }
+
+    private static final class TomlFormatter extends TextFormatter {
         @Override
         protected ConfigFormat<? extends Config> makeFormat() {
             return TomlFormat.instance();
@@ -199,9 +257,19 @@ public abstract sealed class VersionInfoFormatter {
         protected void setHost(Config config, String host) {
             config.set("host", host);
         }
+
+        @Override
+        protected void setSubmodules(Config config, Map<String, String> submodules) {
+            submodules.forEach((path, objectName) -> config.set(List.of("submodules", path), objectName));
+        }
+
+        @Override
+        protected void setWorktrees(Config config, Map<String, String> worktrees) {
+            worktrees.forEach((name, objectName) -> config.set(List.of("worktrees", name), objectName));
+        }
     }
 
-    private static final class YamlFormatter extends VersionInfoFormatter {
+    private static final class YamlFormatter extends TextFormatter {
         @Override
         protected ConfigFormat<? extends Config> makeFormat() {
             final var dumperOptions = new DumperOptions();
@@ -265,9 +333,19 @@ public abstract sealed class VersionInfoFormatter {
         protected void setHost(Config config, String host) {
             config.set("host", host);
         }
+
+        @Override
+        protected void setSubmodules(Config config, Map<String, String> submodules) {
+            submodules.forEach((path, objectName) -> config.set(List.of("submodules", path), objectName));
+        }
+
+        @Override
+        protected void setWorktrees(Config config, Map<String, String> worktrees) {
+            worktrees.forEach((name, objectName) -> config.set(List.of("worktrees", name), objectName));
+        }
     }
 
-    private static final class HoconFormatter extends VersionInfoFormatter {
+    private static final class HoconFormatter extends TextFormatter {
         @Override
         protected ConfigFormat<? extends Config> makeFormat() {
             return HoconFormat.instance();
@@ -327,9 +405,19 @@ public abstract sealed class VersionInfoFormatter {
         protected void setHost(Config config, String host) {
             config.set("host", host);
         }
+
+        @Override
+        protected void setSubmodules(Config config, Map<String, String> submodules) {
+            submodules.forEach((path, objectName) -> config.set(List.of("submodules", path), objectName));
+        }
+
+        @Override
+        protected void setWorktrees(Config config, Map<String, String> worktrees) {
+            worktrees.forEach((name, objectName) -> config.set(List.of("worktrees", name), objectName));
+        }
     }
 
-    private static final class JsonFormatter extends VersionInfoFormatter {
+    private static final class JsonFormatter extends TextFormatter {
         @Override
         protected ConfigFormat<? extends Config> makeFormat() {
             return JsonFormat.fancyInstance();
@@ -389,5 +477,79 @@ public abstract sealed class VersionInfoFormatter {
         protected void setHost(Config config, String host) {
             config.set("host", host);
         }
+
+        @Override
+        protected void setSubmodules(Config config, Map<String, String> submodules) {
+            submodules.forEach((path, objectName) -> config.set(List.of("submodules", path), objectName));
+        }
+
+        @Override
+        protected void setWorktrees(Config config, Map<String, String> worktrees) {
+            worktrees.forEach((name, objectName) -> config.set(List.of("worktrees", name), objectName));
+        }
+    }
+
+    private static final class BinaryFormatter extends VersionInfoFormatter {
+        @Override
+        public ByteBuffer encode(VersionInfo model) {
+            checkNotNull(model, "model");
+            final var fields = new byte[VersionInfoBinaryFormat.WORKTREES + 1][];
+            fields[VersionInfoBinaryFormat.VERSION] = encode(model.getVersion());
+            fields[VersionInfoBinaryFormat.BRANCH] = encode(model.getBranch());
+            fields[VersionInfoBinaryFormat.COMMIT_ID] = encode(model.getCommitId());
+            fields[VersionInfoBinaryFormat.COMMIT_ID_ABBREV] = encode(model.getCommitIdAbbrev());
+            fields[VersionInfoBinaryFormat.COMMIT_MESSAGE] = encode(model.getCommitMessage());
+            fields[VersionInfoBinaryFormat.COMMIT_USER_NAME] = encode(model.getCommitUserName());
+            fields[VersionInfoBinaryFormat.COMMIT_USER_EMAIL] = encode(model.getCommitUserEmail());
+            fields[VersionInfoBinaryFormat.HOST] = encode(model.getHost());
+            fields[VersionInfoBinaryFormat.SUBMODULES] = model.hasSubmodules() ? encode(model.getSubmodules()) : null;
+            fields[VersionInfoBinaryFormat.WORKTREES] = model.hasWorktrees() ? encode(model.getWorktrees()) : null;
+            var length = VersionInfoBinaryFormat.HEADER_LENGTH;
+            for (final var field : fields) {
+                if (field != null) {
+                    length += VersionInfoBinaryFormat.FIELD_HEADER_LENGTH + field.length;
+                }
+            }
+            length += model.hasCommitTime() ? VersionInfoBinaryFormat.FIELD_HEADER_LENGTH + Long.BYTES : 0;
+            length += model.hasBuildNumber() ? VersionInfoBinaryFormat.FIELD_HEADER_LENGTH + Long.BYTES : 0;
+            length += model.hasDirty() ? VersionInfoBinaryFormat.FIELD_HEADER_LENGTH + Byte.BYTES : 0;
+            final var buffer = ByteBuffer.allocate(length)
+                    .putInt(VersionInfoBinaryFormat.MAGIC)
+                    .put(VersionInfoBinaryFormat.FORMAT_VERSION);
+            for (var field = VersionInfoBinaryFormat.VERSION; field <= VersionInfoBinaryFormat.WORKTREES; field++) {
+                if (fields[field] != null) {
+                    putFieldHeader(buffer, field, fields[field].length).put(fields[field]);
+                } else if (field == VersionInfoBinaryFormat.COMMIT_TIME && model.hasCommitTime()) {
+                    putFieldHeader(buffer, field, Long.BYTES).putLong(model.getCommitTime().toEpochSecond());
+                } else if (field == VersionInfoBinaryFormat.BUILD_NUMBER && model.hasBuildNumber()) {
+                    putFieldHeader(buffer, field, Long.BYTES).putLong(model.getBuildNumber());
+                } else if (field == VersionInfoBinaryFormat.DIRTY && model.hasDirty()) {
+                    putFieldHeader(buffer, field, Byte.BYTES).put((byte) (model.getDirty() ? 1 : 0));
+                }
+            }
+            return buffer.flip();
+        }
+
+        @Nullable
+        private static byte[] encode(@Nullable String value) {
+            if (value == null) {
+                return null;
+            }
+            final var bytes = value.getBytes(StandardCharsets.UTF_8);
+            checkArgument(
+                    bytes.length <= VersionInfoBinaryFormat.MAX_FIELD_LENGTH,
+                    "binary version info field is too long");
+            return bytes;
+        }
+
+        private static byte[] encode(Map<String, String> entries) {
+            final var value = new StringJoiner(VersionInfoBinaryFormat.ENTRY_SEPARATOR);
+            entries.forEach((key, entry) -> value.add(key).add(entry));
+            return encode(value.toString());
+        }
+
+        private static ByteBuffer putFieldHeader(ByteBuffer buffer, byte field, int length) {
+            return buffer.put(field).putShort((short) length);
+        }
     }
 }
@@ -0,0 +1,165 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import javax.annotation.Nullable;
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+
+import static io.margeta.jvmlabs.build.version.Preconditions.checkArgument;
+import static io.margeta.jvmlabs.build.version.Preconditions.checkNotNull;
+
+public abstract sealed class VersionInfoLanguage {
+    public static final VersionInfoLanguage JAVA = new JavaLanguage();
+    public static final VersionInfoLanguage KOTLIN = new KotlinLanguage();
+
+    protected VersionInfoLanguage() {}
+
+    public static VersionInfoLanguage valueOf(String name) {
+        checkNotNull(name, "name");
+        return switch (name.toUpperCase()) {
+            case "JAVA" -> JAVA;
+            case "KOTLIN" -> KOTLIN;
+            default -> throw new IllegalArgumentException("Unsupported language '%s'.".formatted(name));
+        };
+    }
+
+    public abstract String getFileExtension();
+
+    public void write(VersionInfo model, String packageName, String className, Writer writer) {
+        checkNotNull(model, "model");
+        checkNotNull(packageName, "packageName");
+        checkNotNull(className, "className");
+        checkArgument(packageName.isEmpty() || SourceVersion.isName(packageName), "invalid package name");
+        checkArgument(SourceVersion.isName(className) && className.indexOf('.') < 0, "invalid class name");
+        checkNotNull(writer, "writer");
+        final var out = new PrintWriter(writer);
+        writeHeader(out, packageName, className);
+        writeConstant(out, "VERSION", quote(model.getVersion()));
+        writeField(out, "BRANCH", "String", quote(model.getBranch()));
+        writeField(out, "COMMIT_ID", "String", quote(model.getCommitId()));
+        writeField(out, "COMMIT_ID_ABBREV", "String", quote(model.getCommitIdAbbrev()));
+        writeField(out, "COMMIT_MESSAGE", "String", quote(model.getCommitMessage()));
+        writeField(out, "COMMIT_TIME", "String", quote(
+                model.hasCommitTime() ? model.getCommitTime().format(DateTimeFormatter.ISO_INSTANT) : null));
+        writeField(out, "COMMIT_USER_NAME", "String", quote(model.getCommitUserName()));
+        writeField(out, "COMMIT_USER_EMAIL", "String", quote(model.getCommitUserEmail()));
+        writeField(out, "BUILD_NUMBER", "Long", model.hasBuildNumber() ? model.getBuildNumber() + "L" : null);
+        writeField(out, "DIRTY", "Boolean", model.hasDirty() ? model.getDirty().toString() : null);
+        writeField(out, "HOST", "String", quote(model.getHost()));
+        writeFooter(out, className);
+        out.flush();
+        if (out.checkError()) {
+            throw new UncheckedIOException(
+                    new IOException("An error occurred while writing the version info source."));
+        }
+    }
+
+    protected abstract void writeHeader(PrintWriter out, String packageName, String className);
+
+    protected abstract void writeConstant(PrintWriter out, String name, String value);
+
+    protected abstract void writeField(PrintWriter out, String name, String type, @Nullable String value);
+
+    protected abstract void writeFooter(PrintWriter out, String className);
+
+    @Nullable
+    private String quote(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        final var literal = new StringBuilder(value.length() + 2).append('"');
+        for (var i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append("\\u%04x".formatted((int) c));
+                    } else {
+                        escape(literal, c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    protected void escape(StringBuilder literal, char c) {
+        literal.append(c);
+    }
+
+    private static final class JavaLanguage extends VersionInfoLanguage {
+        @Override
+        public String getFileExtension() {
+            return "java";
+        }
+
+        @Override
+        protected void writeHeader(PrintWriter out, String packageName, String className) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;\n\n", packageName);
+            }
+            out.printf("public final class %s {\n", className);
+        }
+
+        @Override
+        protected void writeConstant(PrintWriter out, String name, String value) {
+            writeField(out, name, "String", value);
+        }
+
+        @Override
+        protected void writeField(PrintWriter out, String name, String type, @Nullable String value) {
+            out.printf("    public static final %s %s = %s;\n", type, name, value);
+        }
+
+        @Override
+        protected void writeFooter(PrintWriter out, String className) {
+            out.printf("\n    private %s() {}\n}\n", className);
+        }
+    }
+
+    private static final class KotlinLanguage extends VersionInfoLanguage {
+        @Override
+        public String getFileExtension() {
+            return "kt";
+        }
+
+        @Override
+        protected void writeHeader(PrintWriter out, String packageName, String className) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s\n\n", packageName);
+            }
+            out.printf("object %s {\n", className);
+        }
+
+        @Override
+        protected void writeConstant(PrintWriter out, String name, String value) {
+            out.printf("    const val %s: String = %s\n", name, value);
+        }
+
+        @Override
+        protected void writeField(PrintWriter out, String name, String type, @Nullable String value) {
+            out.printf("    @JvmField val %s: %s? = %s\n", name, type, value);
+        }
+
+        @Override
+        protected void writeFooter(PrintWriter out, String className) {
+            out.print("}\n");
+        }
+
+        @Override
+        protected void escape(StringBuilder literal, char c) {
+            if (c == '$') {
+                literal.append('\\');
+            }
+            literal.append(c);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.margeta.jvmlabs.build.version.task;
+
+import io.margeta.jvmlabs.build.version.service.Timings;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.tooling.BuildException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+@CacheableTask
+public abstract class VersionInfoSourceTask extends AbstractVersionInfoTask {
+    @Input
+    public abstract Property<String> getLanguage();
+
+    @Input
+    public abstract Property<String> getPackageName();
+
+    @Input
+    public abstract Property<String> getClassName();
+
+    @TaskAction
+    public void writeOutput() {
+        generate(makeVersionInfo());
+    }
+
+    private void generate(VersionInfo versionInfo) {
+        try {
+            Timings.current().time("versionInfoSource.generate", () -> {
+                final var language = VersionInfoLanguage.valueOf(getLanguage().get());
+                final var packageName = getPackageName().get();
+                final var className = getClassName().get();
+                final var outputDirectory = getOutputDirectory().get().getAsFile().toPath();
+                final var packageDirectory = packageName.isEmpty()
+                        ? outputDirectory
+                        : outputDirectory.resolve(packageName.replace('.', '/'));
+                final var output = packageDirectory.resolve(className + "." + language.getFileExtension());
+                deleteStaleFiles(outputDirectory, output);
+                Files.createDirectories(packageDirectory);
+                if (!VersionInfoFile.write(
+                        output, writer -> language.write(versionInfo, packageName, className, writer))) {
+                    getLogger().info("Version info source {} is unchanged.", output);
+                }
+                return output;
+            });
+        } catch (Exception e) {
+            throw new BuildException("An error occurred while generating the version info source.", e);
+        }
+    }
+
+    private static void deleteStaleFiles(Path outputDirectory, Path output) throws IOException {
+        try (final Stream<Path> files = Files.walk(outputDirectory)) {
+            final var staleFiles = files.filter(it -> !output.startsWith(it))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+            for (final var file : staleFiles) {
+                Files.delete(file);
+            }
+        }
+    }
+}
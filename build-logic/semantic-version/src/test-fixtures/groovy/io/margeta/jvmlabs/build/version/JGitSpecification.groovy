@@ -1,11 +1,16 @@
 package io.margeta.jvmlabs.build.version
 
 import org.eclipse.jgit.api.Git
+import org.eclipse.jgit.api.MergeCommand
+import org.eclipse.jgit.lib.PersonIdent
 import org.eclipse.jgit.revwalk.RevCommit
 import spock.lang.AutoCleanup
 import spock.lang.Specification
 import spock.lang.TempDir
 
+import java.time.Instant
+import java.time.ZoneOffset
+
 abstract class JGitSpecification extends Specification {
     @TempDir
     File repository
@@ -36,10 +41,33 @@ abstract class JGitSpecification extends Specification {
             commit = commitCommand.call()
         }
 
+        void commit(String message, Instant time) {
+            def person = new PersonIdent(new PersonIdent(git.repository), time, ZoneOffset.UTC)
+            commit = git.commit().setMessage(message).setAuthor(person).setCommitter(person).call()
+        }
+
         void tag(String name) {
             git.tag().setName(name).setAnnotated(true).call()
         }
 
+        void checkout(String name, boolean create = false) {
+            git.checkout().setName(name).setCreateBranch(create).call()
+        }
+
+        void merge(String name, Instant time = null) {
+            def result = git.merge()
+                .include(git.repository.resolve(name))
+                .setFastForward(MergeCommand.FastForwardMode.NO_FF)
+                .setMessage("Merge $name")
+                .setCommit(time == null)
+                .call()
+            if (time == null) {
+                commit = git.repository.parseCommit(result.newHead)
+            } else {
+                commit("Merge $name", time)
+            }
+        }
+
         @Override
         void close() throws Exception {
             if (git != null) {
@@ -97,6 +97,7 @@ class SemanticVersionTest extends Specification {
             "01.02.03"             | "01" | "02" | "03" | null    | null
             "01.02.03-0.aA-"       | "01" | "02" | "03" | "0.aA-" | null
             "01.02.03-0.aA-+0.bB-" | "01" | "02" | "03" | "0.aA-" | "0.bB-"
+            "01.02.03+0.bB-"       | "01" | "02" | "03" | null    | "0.bB-"
         }
 
         def "does not parse an invalid input string"() {
@@ -110,16 +111,88 @@ class SemanticVersionTest extends Specification {
             thrown IllegalArgumentException
 
             where:
-            i           | _
-            "1"         | _
-            "1.1"       | _
-            "1.1.a"     | _
-            "1.a.1"     | _
-            "a.1.1"     | _
-            "1.1.1-"    | _
-            "1.1.1-_"   | _
-            "1.1.1-1+"  | _
-            "1.1.1-1+_" | _
+            i             | _
+            "1"           | _
+            "1.1"         | _
+            "1.1.a"       | _
+            "1.a.1"       | _
+            "a.1.1"       | _
+            "1.1.1-"      | _
+            "1.1.1-_"     | _
+            "1.1.1-1+"    | _
+            "1.1.1-1+_"   | _
+            "1.1.1+"      | _
+            "1.1.1-1+1+1" | _
+            "12345.1.1"   | _
+            "1.123.1"     | _
+            "1..1"        | _
+        }
+    }
+
+    @Subject(SemanticVersion)
+    @Title("semantic version precedence")
+    static class PrecedenceTest extends Specification {
+        def "orders semantic versions by precedence"() {
+            given: "semantic versions in ascending order of precedence"
+            def versions = [
+                    "1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta", "1.0.0-beta.2",
+                    "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "1.0.1", "1.1.0", "2.0.0"
+            ].collect { SemanticVersion.parse(it) }
+
+            when: "sorting the shuffled semantic versions"
+            def shuffled = new ArrayList(versions)
+            Collections.shuffle(shuffled, new Random(42))
+            def actual = shuffled.sort(false)
+
+            then: "sorts the semantic versions by precedence"
+            actual == versions
+        }
+
+        def "compares semantic versions"() {
+            given: "two semantic versions"
+            def left = SemanticVersion.parse(l)
+            def right = SemanticVersion.parse(r)
+
+            when: "comparing the semantic versions"
+            def actual = Integer.signum(left <=> right)
+
+            then: "compares the semantic versions by precedence"
+            actual == c
+
+            where:
+            l              | r               | c
+            "1.2.3"        | "1.2.3"         | 0
+            "1.2.3+a"      | "1.2.3+b"       | 0
+            "01.02.03"     | "1.2.3"         | 0
+            "1.0.0-01"     | "1.0.0-1"       | 0
+            "1.0.0-1"      | "1.0.0-a"       | -1
+            "1.0.0-a.b"    | "1.0.0-a"       | 1
+            "1.0.0-beta.2" | "1.0.0-beta.11" | -1
+            "1.9.9"        | "1.10.0"        | -1
+            "2.0.0-rc.1"   | "1.99.99"       | 1
+        }
+
+        def "encodes the numeric part as a packed key"() {
+            when: "parsing a semantic version"
+            def actual = SemanticVersion.parse("2025.10.18")
+
+            then: "packs the major, minor and patch versions into a key"
+            actual.numericKey == SemanticVersion.numericKey(2025, 10, 18)
+            actual.numericKey == (2025L << 42 | 10L << 21 | 18L)
+        }
+
+        def "does not allow packing an out of range numeric part"() {
+            when: "packing an out of range numeric part"
+            SemanticVersion.numericKey(x, y, z)
+
+            then: "throws an exception"
+            thrown IllegalArgumentException
+
+            where:
+            x  | y                                    | z
+            -1 | 0                                    | 0
+            0  | SemanticVersion.MAX_NUMERIC_PART + 1 | 0
+            0  | 0                                    | -1
         }
     }
 
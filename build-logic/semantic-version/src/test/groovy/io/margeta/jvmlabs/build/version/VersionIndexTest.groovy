@@ -0,0 +1,67 @@
+package io.margeta.jvmlabs.build.version
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+@Subject(VersionIndex)
+@Title("version index")
+class VersionIndexTest extends Specification {
+    def sut = VersionIndex.parse(
+            ["24.1.0", "24.2.0-SNAPSHOT", "24.2.0", "24.10.1", "25.0.0-rc.1", "25.0.0", "25.1.3", "1.0.0"])
+
+    def "finds the highest and lowest matching versions"() {
+        given: "a version range"
+        def range = VersionRange.parse(r)
+
+        when: "looking up the matching versions"
+        def highest = sut.highest(range)
+        def lowest = sut.lowest(range)
+
+        then: "finds the highest and lowest matching versions"
+        highest?.toExtendedString() == h
+        lowest?.toExtendedString() == l
+
+        where:
+        r                   | h         | l
+        ">=24.1.0 <25.0.0"  | "24.10.1" | "24.1.0"
+        "24.2.x"            | "24.2.0"  | "24.2.0-SNAPSHOT"
+        "^25.0.0-0"         | "25.1.3"  | "25.0.0-rc.1"
+        "<24.0.0 || 24.5.x" | "1.0.0"   | "1.0.0"
+        "24.5.x"            | null      | null
+        "*"                 | "25.1.3"  | "1.0.0"
+    }
+
+    def "lists the matching versions in ascending order"() {
+        when: "listing the matching versions"
+        def actual = sut.matching(VersionRange.parse("1.x || >=24.2.0 <25.0.0"))
+
+        then: "lists the matching versions in ascending order"
+        actual*.toExtendedString() == ["1.0.0", "24.2.0", "24.10.1"]
+    }
+
+    def "agrees with a linear scan"() {
+        given: "a large set of versions"
+        def random = new Random(42)
+        def versions = (0..<5000).collect {
+            SemanticVersion.parse("${2000 + random.nextInt(30)}.${random.nextInt(13)}.${random.nextInt(40)}".toString())
+        }
+        def index = VersionIndex.of(versions)
+
+        and: "a version range"
+        def range = VersionRange.parse(r)
+
+        when: "looking up the highest matching version"
+        def actual = index.highest(range)
+
+        then: "finds the same version as a linear scan"
+        (actual <=> versions.findAll { range.contains(it) }.max()) == 0
+
+        where:
+        r                                | _
+        ">=2010.1.0 <2011.0.0"           | _
+        "^2005.3.4"                      | _
+        "~2020.12.1"                     | _
+        "<1.0.0 || 2003.x || >=2029.0.0" | _
+    }
+}
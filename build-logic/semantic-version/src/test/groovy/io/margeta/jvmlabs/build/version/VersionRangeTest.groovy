@@ -0,0 +1,105 @@
+package io.margeta.jvmlabs.build.version
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+import static java.time.LocalDate.of
+
+@Subject(VersionRange)
+@Title("version range")
+class VersionRangeTest extends Specification {
+    def "contains the versions within the range"() {
+        given: "a version range"
+        def sut = VersionRange.parse(r)
+
+        when: "checking whether the range contains a version"
+        def actual = sut.contains(SemanticVersion.parse(v))
+
+        then: "contains only the versions within the range"
+        actual == c
+
+        where:
+        r                   | v                  | c
+        ">=24.1.0 <25.0.0"  | "24.1.0"           | true
+        ">=24.1.0 <25.0.0"  | "24.12.3"          | true
+        ">=24.1.0 <25.0.0"  | "24.1.0-SNAPSHOT"  | false
+        ">=24.1.0 <25.0.0"  | "25.0.0-rc.1"      | false
+        ">=24.1.0 <25.0.0"  | "25.0.0"           | false
+        "^1.2.3"            | "1.9.0"            | true
+        "^1.2.3"            | "2.0.0-rc.1"       | false
+        "^0.2.3"            | "0.2.9"            | true
+        "^0.2.3"            | "0.3.0"            | false
+        "^0.0.3"            | "0.0.4"            | false
+        "~1.2.3"            | "1.2.9"            | true
+        "~1.2.3"            | "1.3.0"            | false
+        "1.2.x"             | "1.2.0-SNAPSHOT"   | true
+        "1.2.x"             | "1.3.0"            | false
+        "24.*"              | "24.12.1"          | true
+        "*"                 | "0.0.0-0"          | true
+        "1.2.3"             | "1.2.3+42.1234567" | true
+        "1.2.3"             | "1.2.3-rc.1"       | false
+        ">1.2"              | "1.2.99"           | false
+        "<=1.2"             | "1.2.99"           | true
+        "<1.0.0 || >=2.0.0" | "2.0.0"            | true
+        "<1.0.0 || >=2.0.0" | "1.5.0"            | false
+        ">=1.0.0 <1.0.0"    | "1.0.0"            | false
+    }
+
+    def "normalizes the range"() {
+        when: "parsing a version range"
+        def actual = VersionRange.parse(r)
+
+        then: "merges the overlapping intervals"
+        actual.toString() == n
+
+        where:
+        r                             | n
+        "^1.0.0 || ^1.5.0 || >=3.0.0" | ">=1.0.0 <2.0.0-0 || >=3.0.0"
+        "1.x || 2.x"                  | ">=1.0.0-0 <3.0.0-0"
+        ">=1.0.0 <1.0.0"              | "<0.0.0-0"
+        "*"                           | ">=0.0.0-0"
+    }
+
+    def "does not parse an invalid input string"() {
+        when: "parsing an invalid version range"
+        VersionRange.parse(i)
+
+        then: "throws an exception"
+        thrown IllegalArgumentException
+
+        where:
+        i          | _
+        ""         | _
+        "1.2.3 ||" | _
+        ">="       | _
+        "^"        | _
+        "1.2.3.4"  | _
+        "1.x.3"    | _
+        "a.b.c"    | _
+        "1.2-beta" | _
+    }
+
+    def "makes a calendar version range"() {
+        when: "making a calendar version range"
+        def actual = VersionRange.calendar(x, y, z, of(2024, 3, 10), t)
+
+        then: "spans the calendar periods between the given dates"
+        actual.toString() == n
+
+        where:
+        x      | y    | z    | t               | n
+        "YY"   | null | null | of(2025, 3, 10) | ">=24.0.0-0 <26.0.0-0"
+        "YY"   | "0M" | null | of(2024, 12, 1) | ">=24.03.0-0 <25.01.0-0"
+        "YYYY" | "WW" | null | of(2024, 3, 10) | ">=2024.10.0-0 <2024.11.0-0"
+        "YY"   | "MM" | "DD" | of(2024, 3, 31) | ">=24.3.10-0 <24.4.1-0"
+    }
+
+    def "does not make a calendar version range with a patch format only"() {
+        when: "making a calendar version range without a minor format"
+        VersionRange.calendar("YY", null, "DD", of(2024, 3, 10), of(2024, 3, 10))
+
+        then: "throws an exception"
+        thrown IllegalArgumentException
+    }
+}
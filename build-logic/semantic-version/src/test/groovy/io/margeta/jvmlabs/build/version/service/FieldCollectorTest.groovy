@@ -0,0 +1,116 @@
+package io.margeta.jvmlabs.build.version.service
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@Subject(FieldCollector)
+@Title("field collector")
+class FieldCollectorTest extends Specification {
+    def "collects the fields concurrently"() {
+        given: "fields waiting for each other"
+        def sut = new FieldCollector(Duration.ofSeconds(10L))
+        def started = new CountDownLatch(2)
+        def field = { String value ->
+            started.countDown()
+            started.await(10L, TimeUnit.SECONDS) ? Optional.of(value) : Optional.empty()
+        }
+
+        when: "collecting the fields"
+        def head = sut.collect("head") { field("head") }
+        def branch = sut.collect("branch") { field("main") }
+
+        then: "collects every field"
+        head.join() == Optional.of("head")
+        branch.join() == Optional.of("main")
+        !sut.timedOut
+
+        cleanup:
+        sut.close {}
+    }
+
+    def "leaves out a field missing its deadline"() {
+        given: "a stalled field"
+        def sut = new FieldCollector(Duration.ofMillis(50L))
+        def stall = new CountDownLatch(1)
+
+        when: "collecting the fields"
+        def head = sut.collect("head") { Optional.of("head") }
+        def describe = sut.collect("describe") {
+            stall.await()
+            Optional.of("0.1.0-1-g1234567")
+        }
+
+        then: "leaves out the stalled field only"
+        head.join() == Optional.of("head")
+        describe.join() == Optional.empty()
+        sut.timedOut
+
+        cleanup:
+        stall.countDown()
+        sut.close {}
+    }
+
+    def "leaves out a shared field missing its deadline for every consumer"() {
+        given: "a stalled field shared with other consumers"
+        def sut = new FieldCollector(Duration.ofMillis(50L))
+        def shared = new CompletableFuture<Optional<String>>()
+
+        when: "collecting the field"
+        def describe = sut.collect("describe", shared)
+
+        then: "leaves out the field"
+        describe.join() == Optional.empty()
+        sut.timedOut
+
+        and: "the other consumers do not wait for the stalled field"
+        shared.getNow(null) == Optional.empty()
+
+        cleanup:
+        sut.close {}
+    }
+
+    def "releases the resources once the stalled fields complete"() {
+        given: "a field missing its deadline"
+        def sut = new FieldCollector(Duration.ofMillis(50L))
+        def stall = new CountDownLatch(1)
+        def completed = new CountDownLatch(1)
+        sut.collect("describe") {
+            try {
+                stall.await()
+            } catch (InterruptedException ignored) {
+                completed.await()
+            }
+            Optional.empty()
+        }.join()
+
+        when: "closing the collector"
+        def released = new CountDownLatch(1)
+        sut.close { released.countDown() }
+
+        then: "does not wait for the stalled field"
+        released.count == 1
+
+        when: "the stalled field completes"
+        completed.countDown()
+
+        then: "releases the resources"
+        released.await(10L, TimeUnit.SECONDS)
+    }
+
+    def "collects the fields without a deadline"() {
+        given: "no deadline"
+        def sut = new FieldCollector(null)
+
+        expect: "collects the field"
+        sut.collect("head") { Optional.of("head") }.join() == Optional.of("head")
+
+        cleanup:
+        sut.close {}
+    }
+}
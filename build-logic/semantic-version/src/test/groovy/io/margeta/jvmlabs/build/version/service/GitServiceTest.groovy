@@ -36,6 +36,8 @@ class GitServiceTest extends Specification {
                 "1234567"                    | null        | null | "1234567" | CLEAN
                 "1234567-dirty"              | null        | null | "1234567" | DIRTY
                 "1.0.0-0-g1234567"           | "1.0.0"     | 0    | "1234567" | CLEAN
+                "1.0.0-12-g1234567"          | "1.0.0"     | 12   | "1234567" | CLEAN
+                "1.0.0-3-123-g1234567-dirty" | "1.0.0-3"   | 123  | "1234567" | DIRTY
                 "svc-1.0.0-1-g1234567-dirty" | "svc-1.0.0" | 1    | "1234567" | DIRTY
                 "svc_1.0.0-1-g1234567-dirty" | "svc_1.0.0" | 1    | "1234567" | DIRTY
                 "svc/1.0.0-1-g1234567-dirty" | "svc/1.0.0" | 1    | "1234567" | DIRTY
@@ -63,5 +65,13 @@ class GitServiceTest extends Specification {
                 "dirty"          | _
             }
         }
+
+        def "formats the git repository object name as its string representation"() {
+            expect: "formats the object name as it is parsed"
+            GitService.ObjectName.parse(n).format() == n
+
+            where:
+            n << ["1234567", "1234567-dirty", "1.0.0-0-g1234567", "svc/1.0.0-12-g1234567-dirty"]
+        }
     }
 }
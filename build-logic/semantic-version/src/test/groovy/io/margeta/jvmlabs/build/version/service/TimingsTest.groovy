@@ -0,0 +1,66 @@
+package io.margeta.jvmlabs.build.version.service
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+@Subject(Timings)
+@Title("timings")
+class TimingsTest extends Specification {
+    private Timings sut = new Timings()
+
+    def "aggregates the recorded timings per operation"() {
+        given: "recorded timings"
+        (1..100).each { sut.record("describe", it * 1_000L) }
+        sut.record("head", 5_000L)
+
+        when: "draining the recorded timings"
+        def actual = sut.drain()
+
+        then: "aggregates the timings per operation"
+        actual.keySet() as List == ["describe", "head"]
+        with(actual["describe"]) {
+            count() == 100
+            totalNanos() == 5_050_000L
+            p50Nanos() == 50_000L
+            p99Nanos() == 99_000L
+        }
+        with(actual["head"]) {
+            count() == 1
+            totalNanos() == 5_000L
+            p50Nanos() == 5_000L
+            p99Nanos() == 5_000L
+        }
+    }
+
+    def "times an action"() {
+        when: "timing an action"
+        def actual = sut.time("branch") { "main" }
+
+        then: "returns the action result and records its timing"
+        actual == "main"
+        sut.drain()["branch"].count() == 1
+    }
+
+    def "drains the recorded timings once"() {
+        given: "a recorded timing"
+        sut.record("describe", 1_000L)
+        sut.drain()
+
+        expect: "drains nothing on the next drain"
+        sut.drain().isEmpty()
+    }
+
+    def "leaves out a timing recorded after its build drained the timings"() {
+        given: "the timings of a build"
+        def build = Timings.current()
+
+        when: "recording a timing after the build drained its timings"
+        build.drain()
+        build.record("describe", 1_000L)
+
+        then: "leaves the timing out of the timings of the next build"
+        !Timings.current().is(build)
+        Timings.current().drain().isEmpty()
+    }
+}
@@ -0,0 +1,88 @@
+package io.margeta.jvmlabs.build.version.task
+
+import io.margeta.jvmlabs.build.version.service.Changelog
+import io.margeta.jvmlabs.build.version.service.GitService
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+import java.time.Instant
+
+@Subject(ChangelogFormatter)
+@Title("changelog formatter")
+class ChangelogFormatterTest extends Specification {
+    def changelog = new Changelog([
+        new Changelog.Release(null, [commit("a1b2c3d", "feat(api)!: drop the v1 endpoints")]),
+        new Changelog.Release("1.1.0", [
+            commit("b2c3d4e", "fix: handle empty input"),
+            commit("c3d4e5f", "Merge branch 'feature'"),
+            commit("d4e5f6a", "feat: add the export")])])
+
+    def "formats the releases as markdown"() {
+        when: "formatting the changelog"
+        def actual = ChangelogFormatter.MARKDOWN.format(changelog, false)
+
+        then: "lists the commits of each release"
+        actual == """\
+            # Changelog
+
+            ## Unreleased
+
+            - feat(api)!: drop the v1 endpoints (a1b2c3d)
+
+            ## 1.1.0 (2025-06-01)
+
+            - fix: handle empty input (b2c3d4e)
+            - Merge branch 'feature' (c3d4e5f)
+            - feat: add the export (d4e5f6a)
+            """.stripIndent()
+    }
+
+    def "groups the conventional commits of each release"() {
+        when: "formatting the changelog with conventional commits"
+        def actual = ChangelogFormatter.MARKDOWN.format(changelog, true)
+
+        then: "lists the commits grouped by their type"
+        actual == """\
+            # Changelog
+
+            ## Unreleased
+
+            ### Features
+
+            - **BREAKING** **api:** drop the v1 endpoints (a1b2c3d)
+
+            ## 1.1.0 (2025-06-01)
+
+            ### Features
+
+            - add the export (d4e5f6a)
+
+            ### Bug Fixes
+
+            - handle empty input (b2c3d4e)
+
+            ### Other Changes
+
+            - Merge branch 'feature' (c3d4e5f)
+            """.stripIndent()
+    }
+
+    def "rejects an unsupported formatter"() {
+        when: "looking up the formatter"
+        ChangelogFormatter.valueOf("HTML")
+
+        then: "throws an exception"
+        thrown(IllegalArgumentException)
+    }
+
+    private static GitService.Commit commit(String idAbbrev, String message) {
+        new GitService.Commit(
+            idAbbrev.padRight(40, "0"),
+            idAbbrev,
+            message,
+            Instant.parse("2025-06-01T10:00:00Z"),
+            "zeljko.margeta@gmail.com",
+            "Željko Margeta")
+    }
+}
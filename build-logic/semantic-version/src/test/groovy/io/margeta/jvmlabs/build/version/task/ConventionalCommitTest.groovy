@@ -0,0 +1,27 @@
+package io.margeta.jvmlabs.build.version.task
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+@Subject(ConventionalCommit)
+@Title("conventional commit")
+class ConventionalCommitTest extends Specification {
+    def "parses the commit message '#message'"() {
+        when: "parsing the commit message"
+        def actual = ConventionalCommit.parse(message)
+
+        then: "reads the type, scope and description"
+        actual == new ConventionalCommit(type, scope, breaking, description)
+
+        where:
+        message                      || type       | scope | breaking | description
+        "feat: add the export"       || "feat"     | null  | false    | "add the export"
+        "Fix(io): close the stream"  || "fix"      | "io"  | false    | "close the stream"
+        "refactor!: drop the v1 api" || "refactor" | null  | true     | "drop the v1 api"
+        "feat(api)!: drop v1"        || "feat"     | "api" | true     | "drop v1"
+        "Merge branch 'a': b"        || "other"    | null  | false    | "Merge branch 'a': b"
+        "feat(): add the export"     || "other"    | null  | false    | "feat(): add the export"
+        "Update README.md"           || "other"    | null  | false    | "Update README.md"
+    }
+}
@@ -0,0 +1,94 @@
+package io.margeta.jvmlabs.build.version.task
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.TempDir
+import spock.lang.Title
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.time.OffsetDateTime
+import java.time.ZoneOffset
+
+@Subject(VersionInfoFile)
+@Title("version info file")
+class VersionInfoFileTest extends Specification {
+    @TempDir
+    Path outputDirectory
+
+    def "writes the formatted version info"() {
+        given: "a version info"
+        def versionInfo = makeVersionInfo("1.0.0+0.cb0a255")
+        def output = outputDirectory.resolve("version.$extension")
+
+        when: "writing the version info file"
+        def actual = formatter.write(output, versionInfo)
+
+        then: "writes the same content as the formatter"
+        actual
+        ByteBuffer.wrap(Files.readAllBytes(output)) == formatter.encode(versionInfo)
+
+        and: "leaves no temporary files behind"
+        Files.list(outputDirectory).withCloseable { it.toList() } == [output]
+
+        where:
+        formatter                   | extension
+        VersionInfoFormatter.TOML   | "toml"
+        VersionInfoFormatter.YAML   | "yaml"
+        VersionInfoFormatter.HOCON  | "conf"
+        VersionInfoFormatter.JSON   | "json"
+        VersionInfoFormatter.BINARY | "bin"
+    }
+
+    def "keeps an unchanged version info file"() {
+        given: "an existing version info file"
+        def output = outputDirectory.resolve("version.toml")
+        writeToml(output, makeVersionInfo("1.0.0+0.cb0a255"))
+        def lastModifiedTime = FileTime.fromMillis(0L)
+        Files.setLastModifiedTime(output, lastModifiedTime)
+
+        when: "writing the same version info"
+        def actual = writeToml(output, makeVersionInfo("1.0.0+0.cb0a255"))
+
+        then: "does not rewrite the file"
+        !actual
+        Files.getLastModifiedTime(output) == lastModifiedTime
+    }
+
+    def "replaces a changed version info file"() {
+        given: "an existing version info file"
+        def output = outputDirectory.resolve("version.toml")
+        writeToml(output, makeVersionInfo("1.0.0+0.cb0a255"))
+
+        when: "writing a different version info"
+        def versionInfo = makeVersionInfo("1.0.1+0.8f3c2d1")
+        def actual = writeToml(output, versionInfo)
+
+        then: "replaces the file"
+        actual
+        Files.readString(output, StandardCharsets.UTF_8) == VersionInfoFormatter.TOML.format(versionInfo)
+    }
+
+    private static boolean writeToml(Path output, VersionInfo versionInfo) {
+        VersionInfoFile.write(output) { VersionInfoFormatter.TOML.write(versionInfo, it) }
+    }
+
+    private static VersionInfo makeVersionInfo(String version) {
+        new VersionInfoBuilder()
+            .version(version)
+            .branch("main")
+            .commitId("cb0a2551d2f787596e0aaee5becbbd92c908c723")
+            .commitIdAbbrev("cb0a255")
+            .commitMessage("Initial commit")
+            .commitTime(OffsetDateTime.of(2023, 5, 2, 22, 21, 35, 0, ZoneOffset.UTC))
+            .commitUserName("Željko Margeta")
+            .commitUserEmail("zeljko.margeta@gmail.com")
+            .buildNumber(0L)
+            .dirty(false)
+            .host("localhost")
+            .build()
+    }
+}
@@ -0,0 +1,76 @@
+package io.margeta.jvmlabs.build.version.task
+
+import io.margeta.jvmlabs.build.version.reader.VersionInfoReader
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+import java.time.OffsetDateTime
+import java.time.ZoneOffset
+
+@Subject(VersionInfoFormatter)
+@Title("version info formatter")
+class VersionInfoFormatterTest extends Specification {
+    def "encodes a binary version info readable by the version info reader"() {
+        given: "a version info"
+        def versionInfo = new VersionInfoBuilder()
+            .version("1.0.0+0.cb0a255")
+            .branch("main")
+            .commitId("cb0a2551d2f787596e0aaee5becbbd92c908c723")
+            .commitIdAbbrev("cb0a255")
+            .commitMessage("Initial commit")
+            .commitTime(OffsetDateTime.of(2023, 5, 2, 22, 21, 35, 0, ZoneOffset.UTC))
+            .commitUserName("Željko Margeta")
+            .commitUserEmail("zeljko.margeta@gmail.com")
+            .buildNumber(42L)
+            .dirty(true)
+            .build()
+
+        when: "reading the binary version info"
+        def actual = VersionInfoReader.read(VersionInfoFormatter.BINARY.encode(versionInfo))
+
+        then: "reads the same fields"
+        with(actual) {
+            version == versionInfo.version
+            branch == versionInfo.branch
+            commitId == versionInfo.commitId
+            commitIdAbbrev == versionInfo.commitIdAbbrev
+            commitMessage == versionInfo.commitMessage
+            commitTime == versionInfo.commitTime
+            commitUserName == versionInfo.commitUserName
+            commitUserEmail == versionInfo.commitUserEmail
+            buildNumber == 42L
+            dirty
+            !hasHost()
+            host == null
+        }
+    }
+
+    def "encodes the submodules and worktrees of a binary version info"() {
+        given: "a version info with submodules and worktrees"
+        def versionInfo = new VersionInfoBuilder()
+            .version("1.0.0+0.cb0a255.dirty")
+            .submodules(["libs/b": "abcdef0-dirty", "libs/a": "1.2.0-0-g1234567"])
+            .worktrees(["feature": "cb0a255"])
+            .build()
+
+        when: "reading the binary version info"
+        def actual = VersionInfoReader.read(VersionInfoFormatter.BINARY.encode(versionInfo))
+
+        then: "reads the same entries in path order"
+        actual.submodules == versionInfo.submodules
+        actual.submodules.keySet().toList() == ["libs/a", "libs/b"]
+        actual.worktrees == ["feature": "cb0a255"]
+    }
+
+    def "rejects a binary version info field that is too long"() {
+        given: "a version info with a long commit message"
+        def versionInfo = new VersionInfoBuilder().version("1.0.0").commitMessage("x" * 65_536).build()
+
+        when: "encoding the binary version info"
+        VersionInfoFormatter.BINARY.encode(versionInfo)
+
+        then: "throws an exception"
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,76 @@
+package io.margeta.jvmlabs.build.version.task
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+@Subject(VersionInfoLanguage)
+@Title("version info language")
+class VersionInfoLanguageTest extends Specification {
+    def "writes the version info constants as a java class"() {
+        given: "a version info of a project that is not a repository"
+        def versionInfo = new VersionInfoBuilder().version("0.1.0-SNAPSHOT").build()
+
+        when: "writing the version info source"
+        def actual = new StringWriter()
+        VersionInfoLanguage.JAVA.write(versionInfo, "io.margeta.demo", "VersionInfo", actual)
+
+        then: "declares every field as a constant"
+        actual.toString() == """\
+            |package io.margeta.demo;
+            |
+            |public final class VersionInfo {
+            |    public static final String VERSION = "0.1.0-SNAPSHOT";
+            |    public static final String BRANCH = null;
+            |    public static final String COMMIT_ID = null;
+            |    public static final String COMMIT_ID_ABBREV = null;
+            |    public static final String COMMIT_MESSAGE = null;
+            |    public static final String COMMIT_TIME = null;
+            |    public static final String COMMIT_USER_NAME = null;
+            |    public static final String COMMIT_USER_EMAIL = null;
+            |    public static final Long BUILD_NUMBER = null;
+            |    public static final Boolean DIRTY = null;
+            |    public static final String HOST = null;
+            |
+            |    private VersionInfo() {}
+            |}
+            |""".stripMargin()
+    }
+
+    def "escapes the string literals"() {
+        given: "a version info with special characters"
+        def versionInfo = new VersionInfoBuilder()
+            .version("1.0.0")
+            .commitId("cb0a2551d2f787596e0aaee5becbbd92c908c723")
+            .commitMessage('Say "$hi"\\\n')
+            .commitUserName("Željko")
+            .build()
+
+        when: "writing the version info source"
+        def actual = new StringWriter()
+        language.write(versionInfo, "", "VersionInfo", actual)
+
+        then: "escapes the quotes, backslashes, line breaks and non ascii characters"
+        actual.toString().contains(message)
+        actual.toString().contains(userName)
+
+        where:
+        language                   | message                     | userName
+        VersionInfoLanguage.JAVA   | 'Say \\"$hi\\"\\\\\\n"'     | '"\\u017deljko"'
+        VersionInfoLanguage.KOTLIN | 'Say \\"\\$hi\\"\\\\\\n"' | '"\\u017deljko"'
+    }
+
+    def "rejects an invalid class name"() {
+        given: "a version info"
+        def versionInfo = new VersionInfoBuilder().version("1.0.0").build()
+
+        when: "writing the version info source"
+        VersionInfoLanguage.JAVA.write(versionInfo, "io.margeta.demo", className, new StringWriter())
+
+        then: "throws an exception"
+        thrown(IllegalArgumentException)
+
+        where:
+        className << ["1VersionInfo", "io.margeta.VersionInfo", "class"]
+    }
+}
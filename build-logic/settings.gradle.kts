@@ -24,8 +24,11 @@ dependencyResolutionManagement {
         }
         create("testLibs") {
             version("groovy", "4.0.27")
+            version("jmh", "1.37")
             version("spock", "2.4-M6-groovy-4.0")
             library("groovy", "org.apache.groovy", "groovy-all").versionRef("groovy")
+            library("jmh-core", "org.openjdk.jmh", "jmh-core").versionRef("jmh")
+            library("jmh-generator", "org.openjdk.jmh", "jmh-generator-annprocess").versionRef("jmh")
             library("spock-core", "org.spockframework", "spock-core").versionRef("spock")
             bundle("spock", listOf("spock_core"))
         }
@@ -33,6 +36,7 @@ dependencyResolutionManagement {
 }
 
 include(":semantic-version")
+include(":semantic-version-reader")
 
 rootProject.name = "build-logic"
 rootProject.children.forEach {
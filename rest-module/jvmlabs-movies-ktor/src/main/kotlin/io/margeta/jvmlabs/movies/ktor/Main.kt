@@ -11,6 +11,7 @@ import io.margeta.jvmlabs.movies.ktor.plugin.zpages.ProbeStatus.Ok
 import io.margeta.jvmlabs.movies.ktor.plugin.zpages.live
 import io.margeta.jvmlabs.movies.ktor.plugin.zpages.ready
 import io.margeta.jvmlabs.movies.ktor.plugin.zpages.zPages
+import kotlin.time.Duration
 
 fun main(args: Array<String>) =
     EngineMain.main(args)
@@ -20,13 +21,17 @@ fun Application.module() {
         json()
     }
 
+    val probeTtl = environment.config.propertyOrNull("zpages.probes.ttl")?.getString()?.let(Duration::parse)
+
     zPages {
         ready {
+            probeTtl?.let { cached(it) }
             probe("mongodb") { Ok }
             probe("redis") { Ok }
             probe("kafka") { Ok }
         }
         live {
+            probeTtl?.let { cached(it) }
             probe("mongodb") { NotOk }
             probe("redis") { Ok }
             probe("kafka") { Ok }
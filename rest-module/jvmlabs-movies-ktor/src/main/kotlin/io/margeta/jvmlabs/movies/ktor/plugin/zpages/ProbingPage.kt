@@ -4,6 +4,8 @@ import io.ktor.http.*
 import io.ktor.server.request.*
 import io.ktor.server.response.*
 import kotlinx.coroutines.*
+import java.util.concurrent.atomic.AtomicReference
+import kotlin.time.Duration
 
 enum class ProbeStatus(val symbol: String, val message: String) {
     Ok("[+]", "ok"),
@@ -19,67 +21,136 @@ private typealias ProbeResults = List<Pair<RoutingPath, ProbeStatus>>
 data class ProbingPage(val type: String, val probes: Probes) : Page {
     override suspend fun handle(context: PageContext) {
         val (status, results) = launchProbes(probes)
+        respondProbes(context, type, status, results)
+    }
+}
+
+class CachedProbingPage(val type: String, probes: Probes, val ttl: Duration) : Page {
+    private val probes = probes.map { (path, handler) -> path to CachedProbe(handler, ttl) }
+
+    @Volatile
+    private var scope: CoroutineScope? = null
+
+    init {
+        require(ttl.isPositive()) { "$type probe ttl must be positive" }
+    }
 
-        if (context.call.request.isVerbose) {
-            context.call.respondText(
-                text = buildResponseText(status, results),
-                contentType = ContentType.Text.Plain.withCharset(Charsets.UTF_8),
-                status = status.toHttpStatusCode()
-            )
-            return
+    override fun start(scope: CoroutineScope) {
+        val parent = scope.coroutineContext[Job]
+        val pageScope = CoroutineScope(scope.coroutineContext + SupervisorJob(parent) + Dispatchers.IO)
+        this.scope = pageScope
+        probes.forEach { (_, probe) ->
+            pageScope.launch {
+                while (isActive) {
+                    probe.refresh(pageScope)
+                    delay(ttl)
+                }
+            }
         }
+    }
 
-        if (status == ProbeStatus.Ok) {
-            context.call.respond(HttpStatusCode.NoContent)
-            return
+    override suspend fun handle(context: PageContext) {
+        val scope = checkNotNull(scope) { "$type probes are not started" }
+        val results = coroutineScope {
+            probes
+                .map { (path, probe) -> async { path to probe.latest(scope) } }
+                .awaitAll()
         }
+        respondProbes(context, type, results.toStatus(), results)
+    }
+}
+
+internal class CachedProbe(private val handler: ProbeHandler, private val ttl: Duration) {
+    private val snapshot = AtomicReference<ProbeStatus?>()
+    private val evaluation = AtomicReference<Deferred<ProbeStatus>?>()
+
+    suspend fun latest(scope: CoroutineScope): ProbeStatus =
+        snapshot.get() ?: refresh(scope)
 
+    suspend fun refresh(scope: CoroutineScope): ProbeStatus {
+        while (true) {
+            evaluation.get()?.let { return it.await() }
+            val next = scope.async(start = CoroutineStart.LAZY) {
+                val status = runCatching { withTimeout(ttl) { handler.invoke() } }.getOrDefault(ProbeStatus.NotOk)
+                snapshot.set(status)
+                status
+            }
+            if (evaluation.compareAndSet(null, next)) {
+                next.invokeOnCompletion { evaluation.compareAndSet(next, null) }
+                return next.await()
+            }
+            next.cancel()
+        }
+    }
+}
+
+private suspend fun respondProbes(context: PageContext, type: String, status: ProbeStatus, results: ProbeResults) {
+    if (context.call.request.isVerbose) {
         context.call.respondText(
-            text = buildResponseText(status),
+            text = buildResponseText(type, status, results),
             contentType = ContentType.Text.Plain.withCharset(Charsets.UTF_8),
             status = status.toHttpStatusCode()
         )
+        return
     }
 
-    private suspend fun launchProbes(
-        probes: Probes,
-        dispatcher: CoroutineDispatcher = Dispatchers.IO,
-    ): Pair<ProbeStatus, ProbeResults> =
-        coroutineScope {
-            val results = probes
-                .map { (path, handler) ->
-                    async(context = dispatcher) {
-                        path to runCatching { handler.invoke() }.getOrDefault(ProbeStatus.NotOk)
-                    }
+    if (status == ProbeStatus.Ok) {
+        context.call.respond(HttpStatusCode.NoContent)
+        return
+    }
+
+    context.call.respondText(
+        text = buildResponseText(type, status),
+        contentType = ContentType.Text.Plain.withCharset(Charsets.UTF_8),
+        status = status.toHttpStatusCode()
+    )
+}
+
+private suspend fun launchProbes(
+    probes: Probes,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+): Pair<ProbeStatus, ProbeResults> =
+    coroutineScope {
+        val results = probes
+            .map { (path, handler) ->
+                async(context = dispatcher) {
+                    path to runCatching { handler.invoke() }.getOrDefault(ProbeStatus.NotOk)
                 }
-                .awaitAll()
-            val status = results.fold(ProbeStatus.Ok) { acc, (_, next) ->
-                if (next == ProbeStatus.NotOk) ProbeStatus.NotOk
-                else acc
             }
-            status to results
-        }
+            .awaitAll()
+        results.toStatus() to results
+    }
 
-    private val ApplicationRequest.isVerbose
-        get() = queryParameters.contains("verbose")
+private fun ProbeResults.toStatus(): ProbeStatus =
+    fold(ProbeStatus.Ok) { acc, (_, next) ->
+        if (next == ProbeStatus.NotOk) ProbeStatus.NotOk
+        else acc
+    }
 
-    private fun buildResponseText(overallStatus: ProbeStatus, results: ProbeResults = emptyList()): String =
-        buildString {
-            results.forEach { (path, status) ->
-                appendLine("${status.symbol}${path.segments.joinToString(separator = "/")} ${status.message}")
-            }
-            appendLine("$type check ${if (overallStatus == ProbeStatus.Ok) "passed" else "failed"}")
-        }
+private val ApplicationRequest.isVerbose
+    get() = queryParameters.contains("verbose")
 
-    private fun ProbeStatus.toHttpStatusCode(): HttpStatusCode =
-        when (this) {
-            ProbeStatus.Ok -> HttpStatusCode.OK
-            ProbeStatus.NotOk -> HttpStatusCode.ServiceUnavailable
+private fun buildResponseText(type: String, overallStatus: ProbeStatus, results: ProbeResults = emptyList()): String =
+    buildString {
+        results.forEach { (path, status) ->
+            appendLine("${status.symbol}${path.segments.joinToString(separator = "/")} ${status.message}")
         }
-}
+        appendLine("$type check ${if (overallStatus == ProbeStatus.Ok) "passed" else "failed"}")
+    }
+
+private fun ProbeStatus.toHttpStatusCode(): HttpStatusCode =
+    when (this) {
+        ProbeStatus.Ok -> HttpStatusCode.OK
+        ProbeStatus.NotOk -> HttpStatusCode.ServiceUnavailable
+    }
 
 class ProbingPageBuilder(val type: String = "custom") {
     private var probes: Map<RoutingPath, ProbeHandler> = mapOf()
+    private var ttl: Duration? = null
+
+    fun cached(ttl: Duration) {
+        this.ttl = ttl
+    }
 
     fun probe(name: String, handler: ProbeHandler) {
         val path = RoutingPath(name)
@@ -88,7 +159,7 @@ class ProbingPageBuilder(val type: String = "custom") {
     }
 
     fun toPage(): Page =
-        ProbingPage(type, probes.toList())
+        ttl?.let { CachedProbingPage(type, probes.toList(), it) } ?: ProbingPage(type, probes.toList())
 }
 
 fun ZPagesConfig.live(endpoint: String = "/livez", configure: ProbingPageBuilder.() -> Unit) =
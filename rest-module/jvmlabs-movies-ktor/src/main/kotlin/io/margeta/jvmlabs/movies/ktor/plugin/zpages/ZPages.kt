@@ -4,6 +4,7 @@ import io.ktor.http.*
 import io.ktor.server.application.*
 import io.ktor.server.request.*
 import io.ktor.util.pipeline.*
+import kotlinx.coroutines.CoroutineScope
 
 val ZPages = createApplicationPlugin(name = "ZPages", createConfiguration = ::ZPagesConfig) {
     val phase = PipelinePhase("ZPages")
@@ -11,6 +12,8 @@ val ZPages = createApplicationPlugin(name = "ZPages", createConfiguration = ::ZP
     val contentTypes = setOf(ContentType.Any, ContentType.Text.Plain)
     val handlers = Handlers(pluginConfig)
 
+    pluginConfig.pages.forEach { it.start(application) }
+
     application.insertPhaseBefore(ApplicationCallPipeline.Plugins, phase)
     application.intercept(phase) {
         if (!call.isHandled && call.request.httpMethod in httpMethods && call.request.contentType() in contentTypes) {
@@ -29,11 +32,13 @@ typealias PageHandler = suspend PageContext.() -> Unit
 
 class ZPagesConfig {
     internal var rootRoute: Route = Route()
+    internal var pages: List<Page> = listOf()
 
     fun register(endpoint: String, page: Page) {
         val path = RoutingPath(endpoint)
         require(path !in rootRoute) { "Diagnostic endpoint $endpoint is already registered" }
         rootRoute += path to { page.handle(this) }
+        pages = pages + page
     }
 }
 
@@ -102,6 +107,8 @@ data class Route(
 
 fun interface Page {
     suspend fun handle(context: PageContext)
+
+    fun start(scope: CoroutineScope) {}
 }
 
 fun Application.zPages(configure: ZPagesConfig.() -> Unit) =
@@ -0,0 +1,28 @@
+package io.margeta.jvmlabs.movies.ktor.plugin.zpages.fixtures
+
+import io.margeta.jvmlabs.movies.ktor.plugin.zpages.ProbeHandler
+import io.margeta.jvmlabs.movies.ktor.plugin.zpages.ProbeStatus
+import io.margeta.jvmlabs.movies.ktor.plugin.zpages.RoutingPath
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.delay
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.time.Duration
+
+fun probeHandler(evaluations: AtomicInteger, release: Deferred<Unit>? = null): ProbeHandler =
+    {
+        evaluations.incrementAndGet()
+        release?.await()
+        ProbeStatus.Ok
+    }
+
+fun failingProbeHandler(): ProbeHandler =
+    { error("Probe failed") }
+
+fun slowProbeHandler(duration: Duration): ProbeHandler =
+    {
+        delay(duration)
+        ProbeStatus.Ok
+    }
+
+fun probesOf(vararg values: Pair<String, ProbeHandler>): List<Pair<RoutingPath, ProbeHandler>> =
+    values.map { (name, handler) -> RoutingPath(name) to handler }
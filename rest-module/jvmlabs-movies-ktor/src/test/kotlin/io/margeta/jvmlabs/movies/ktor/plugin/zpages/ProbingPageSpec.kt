@@ -0,0 +1,124 @@
+package io.margeta.jvmlabs.movies.ktor.plugin.zpages
+
+import io.kotest.core.annotation.DisplayName
+import io.kotest.core.spec.style.FreeSpec
+import io.kotest.datatest.withData
+import io.kotest.matchers.ints.shouldBeGreaterThanOrEqual
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.margeta.jvmlabs.movies.ktor.plugin.zpages.fixtures.*
+import kotlinx.coroutines.*
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.seconds
+
+@DisplayName("probing page builder")
+class ProbingPageBuilderSpec : FreeSpec({
+    "makes a probing page" - {
+        // given a probing page builder
+        val builder = ProbingPageBuilder("readiness")
+
+        // when making a page
+        val actual = builder.toPage()
+
+        // then makes a probing page
+        actual.shouldBeInstanceOf<ProbingPage>()
+    }
+
+    "makes a cached probing page" - {
+        // given a probing page builder with a probe ttl
+        val builder = ProbingPageBuilder("readiness").apply { cached(1.seconds) }
+
+        // when making a page
+        val actual = builder.toPage()
+
+        // then makes a cached probing page
+        actual.shouldBeInstanceOf<CachedProbingPage>()
+    }
+})
+
+@DisplayName("cached probe")
+class CachedProbeSpec : FreeSpec({
+    "shares one in-flight evaluation between concurrent refreshes" - {
+        // given a probe handler blocked until released
+        val evaluations = AtomicInteger()
+        val release = CompletableDeferred<Unit>()
+        val probe = CachedProbe(probeHandler(evaluations, release), 1.seconds)
+
+        // when refreshing the probe concurrently
+        val actual = coroutineScope {
+            val refreshes = (1..10).map {
+                async(start = CoroutineStart.UNDISPATCHED) { probe.refresh(this@coroutineScope) }
+            }
+            // and releasing the probe handler once every refresh joined its evaluation
+            withTimeout(5.seconds) {
+                while (evaluations.get() < 1) yield()
+            }
+            yield()
+            release.complete(Unit)
+            refreshes.awaitAll()
+        }
+
+        // then evaluates the probe handler once
+        evaluations.get() shouldBe 1
+        actual shouldBe List(10) { ProbeStatus.Ok }
+    }
+
+    "returns the latest snapshot without evaluating the probe handler" - {
+        // given a refreshed probe
+        val evaluations = AtomicInteger()
+        val probe = CachedProbe(probeHandler(evaluations), 1.seconds)
+        coroutineScope { probe.refresh(this) }
+
+        // when getting the latest probe status repeatedly
+        val actual = coroutineScope { (1..10).map { probe.latest(this) } }
+
+        // then returns the snapshot
+        evaluations.get() shouldBe 1
+        actual shouldBe List(10) { ProbeStatus.Ok }
+    }
+
+    "reports a failed probe as not ok" - {
+        withData(
+            nameFn = { (n, _) -> "[h: $n]" },
+            "throws" to failingProbeHandler(),
+            "exceeds the ttl" to slowProbeHandler(1.seconds),
+        ) { (_, h) ->
+            // given a failing probe handler
+            val probe = CachedProbe(h, 50.milliseconds)
+
+            // when refreshing the probe
+            val actual = coroutineScope { probe.refresh(this) }
+
+            // then reports the probe as not ok
+            actual shouldBe ProbeStatus.NotOk
+        }
+    }
+})
+
+@DisplayName("cached probing page")
+class CachedProbingPageSpec : FreeSpec({
+    "refreshes its probes in the background" - {
+        // given a cached probing page
+        val evaluations = AtomicInteger()
+        val page = CachedProbingPage(
+            "readiness",
+            probesOf("mongodb" to probeHandler(evaluations)),
+            10.milliseconds,
+        )
+
+        // when starting the page
+        val scope = CoroutineScope(Job())
+        try {
+            page.start(scope)
+            withTimeout(5.seconds) {
+                while (evaluations.get() < 3) delay(10.milliseconds)
+            }
+        } finally {
+            scope.cancel()
+        }
+
+        // then evaluates the probe handler repeatedly
+        evaluations.get() shouldBeGreaterThanOrEqual 3
+    }
+})
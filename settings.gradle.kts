@@ -6,6 +6,10 @@ pluginManagement {
     }
 }
 
+plugins {
+    id("io.margeta.jvmlabs.build.semantic-version.settings")
+}
+
 dependencyResolutionManagement {
     versionCatalogs {
         create("testLibs").from(files("gradle/test-libs.versions.toml"))
@@ -32,3 +36,8 @@ rootProject.name = "jvm-labs"
 rootProject.subprojects {
     buildFileName = "${name}.gradle.kts"
 }
+
+semanticVersion {
+    majorFormat = "YY"
+    minorFormat = "MM"
+}